@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.integration.ballerina.benchmarks.Corpus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end benchmark of generating a page from a README.md file, including the code file and its segments. The
+ * included code file is read once and served from the include cache afterwards, as it is during a docs build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessReadmeBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int lines;
+
+    private Path directory;
+    private File readme;
+    private File output;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("doc-generator-benchmark");
+        Corpus.write(directory, lines);
+        readme = directory.resolve(Corpus.README_MD).toFile();
+        output = directory.resolve("1.md").toFile();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        DocsGenerator.INCLUDE_CACHE.clear();
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Benchmark
+    public File processReadmeFile() {
+        DocsGenerator.processReadmeFile(readme, output);
+        return output;
+    }
+}
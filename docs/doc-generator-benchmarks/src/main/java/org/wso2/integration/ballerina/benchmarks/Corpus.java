@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Synthetic README.md and code files used by the benchmarks. A code file has a licence header followed by code
+ * segments of {@value #SEGMENT_LINES} lines. A README.md file has paragraphs with code segment inclusions, image
+ * attachments and a single inclusion of the whole code file.
+ */
+public final class Corpus {
+    public static final String README_MD = "README.md";
+    public static final String CODE_FILE = "corpus.bal";
+    public static final int SEGMENT_LINES = 20;
+    private static final int INCLUDE_SEGMENT_INTERVAL = 50;
+    private static final int IMAGE_INTERVAL = 97;
+    private static final String LICENCE_HEADER = "// Copyright (c) 2019 WSO2 Inc. (http://www.wso2.org) All Rights "
+            + "Reserved.\n"
+            + "//\n"
+            + "// WSO2 Inc. licenses this file to you under the Apache License,\n"
+            + "// Version 2.0 (the \"License\"); you may not use this file except\n"
+            + "// in compliance with the License.\n"
+            + "// You may obtain a copy of the License at\n"
+            + "//\n"
+            + "// http://www.apache.org/licenses/LICENSE-2.0\n"
+            + "//\n"
+            + "// Unless required by applicable law or agreed to in writing,\n"
+            + "// software distributed under the License is distributed on an\n"
+            + "// \"AS IS\" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY\n"
+            + "// KIND, either express or implied.  See the License for the\n"
+            + "// specific language governing permissions and limitations\n"
+            + "// under the License.\n\n";
+
+    private Corpus() {}
+
+    /**
+     * Get the number of code segments of a code file.
+     *
+     * @param lines number of code lines
+     * @return number of code segments
+     */
+    public static int getSegmentCount(int lines) {
+        return Math.max(1, lines / SEGMENT_LINES);
+    }
+
+    /**
+     * Create the content of a code file.
+     *
+     * @param lines number of code lines
+     * @return code file content
+     */
+    public static String createCode(int lines) {
+        StringBuilder code = new StringBuilder(LICENCE_HEADER);
+        int segments = getSegmentCount(lines);
+        for (int segment = 0; segment < segments; segment++) {
+            code.append("// CODE-SEGMENT-BEGIN: segment_").append(segment).append('\n');
+            code.append("function segment").append(segment).append("(int value) returns int {\n");
+            for (int line = 2; line < SEGMENT_LINES; line++) {
+                code.append("    int value").append(line).append(" = value * ").append(line).append(";\n");
+            }
+            code.append("    return value;\n}\n");
+            code.append("// CODE-SEGMENT-END: segment_").append(segment).append('\n');
+        }
+        return code.toString();
+    }
+
+    /**
+     * Create the content of a README.md file including code segments of a code file created for the same number of
+     * lines.
+     *
+     * @param lines number of lines
+     * @return README.md content
+     */
+    public static String createReadme(int lines) {
+        StringBuilder readme = new StringBuilder("# Benchmark corpus\n");
+        int segments = getSegmentCount(lines);
+        for (int line = 1; line < lines; line++) {
+            if (line == lines / 2) {
+                readme.append("<!-- INCLUDE_CODE: ").append(CODE_FILE).append(" -->\n");
+            } else if (line % INCLUDE_SEGMENT_INTERVAL == 0) {
+                readme.append("    <!-- INCLUDE_CODE_SEGMENT: { file: ").append(CODE_FILE).append(", segment: segment_")
+                        .append((line / INCLUDE_SEGMENT_INTERVAL) % segments).append(" } -->\n");
+            } else if (line % IMAGE_INTERVAL == 0) {
+                readme.append("![Image ").append(line).append("](../../../assets/img/image-").append(line)
+                        .append(".png)\n");
+            } else {
+                for (int space = 0; space < line % 4; space++) {
+                    readme.append("  ");
+                }
+                readme.append("Line ").append(line).append(" of the guide explains a step of the integration.\n");
+            }
+        }
+        return readme.toString();
+    }
+
+    /**
+     * Write a README.md file and the code file it includes to a directory.
+     *
+     * @param directory directory
+     * @param lines     number of lines of each file
+     * @throws IOException if writing the files fails
+     */
+    public static void write(Path directory, int lines) throws IOException {
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(CODE_FILE), createCode(lines).getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve(README_MD), createReadme(lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.integration.ballerina.directive;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.integration.ballerina.benchmarks.Corpus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of classifying every line of a README.md file by its inclusion tag, using a {@link DirectiveScanner}
+ * and using a `contains` check per tag.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectiveScannerBenchmark {
+    private static final String[] TAGS = {"INCLUDE_CODE:", "INCLUDE_CODE_SEGMENT:", "INCLUDE_MD:"};
+
+    @Param({"1000", "10000", "100000"})
+    private int lines;
+
+    private String[] readmeLines;
+    private DirectiveScanner<String> scanner;
+
+    @Setup
+    public void setUp() {
+        readmeLines = Corpus.createReadme(lines).split("\n");
+        DirectiveRegistry<String> registry = new DirectiveRegistry<>();
+        for (String tag : TAGS) {
+            registry.register(tag, tag);
+        }
+        scanner = registry.compile();
+    }
+
+    @Benchmark
+    public void scan(Blackhole blackhole) {
+        DirectiveMatch<String> match = new DirectiveMatch<>();
+        for (String line : readmeLines) {
+            blackhole.consume(scanner.scan(line, match));
+        }
+    }
+
+    @Benchmark
+    public void contains(Blackhole blackhole) {
+        for (String line : readmeLines) {
+            String directive = null;
+            for (String tag : TAGS) {
+                if (line.contains(tag)) {
+                    directive = tag;
+                    break;
+                }
+            }
+            blackhole.consume(directive);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.include;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.integration.ballerina.benchmarks.Corpus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of reading included code files. {@link CodeFile} replaced `removeLicenceHeader` and `getCodeSegment`,
+ * so parsing a code file measures the licence header removal and the code segment indexing, and looking up all the
+ * segments measures the code segment inclusion. The mapped benchmarks do the same for a memory mapped code file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodeFileBenchmark {
+    private static final String GUIDE = "benchmark";
+
+    @Param({"1000", "10000", "100000"})
+    private int lines;
+
+    private String content;
+    private File file;
+    private CodeFile codeFile;
+    private CodeFile mappedCodeFile;
+    private String[] segmentNames;
+
+    @Setup
+    public void setUp() throws IOException {
+        content = Corpus.createCode(lines);
+        codeFile = new CodeFile(content, 0, content.length());
+        file = File.createTempFile("code-file-benchmark", ".bal");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        mappedCodeFile = new CodeFile(MappedContent.map(file), 0, file.length());
+        segmentNames = new String[Corpus.getSegmentCount(lines)];
+        for (int segment = 0; segment < segmentNames.length; segment++) {
+            segmentNames[segment] = "segment_" + segment;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file.toPath());
+    }
+
+    @Benchmark
+    public CodeFile parse() {
+        return new CodeFile(content, 0, content.length());
+    }
+
+    @Benchmark
+    public String getCode() {
+        return codeFile.getCode(GUIDE);
+    }
+
+    @Benchmark
+    public void getSegments(Blackhole blackhole) {
+        for (String segmentName : segmentNames) {
+            blackhole.consume(codeFile.getSegment(segmentName, GUIDE));
+        }
+    }
+
+    @Benchmark
+    public CodeFile parseMapped() throws IOException {
+        return new CodeFile(MappedContent.map(file), 0, file.length());
+    }
+
+    @Benchmark
+    public void getSegmentsMapped(Blackhole blackhole) {
+        for (String segmentName : segmentNames) {
+            blackhole.consume(mappedCodeFile.getSegment(segmentName, GUIDE));
+        }
+    }
+}
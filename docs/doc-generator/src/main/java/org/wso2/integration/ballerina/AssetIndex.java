@@ -0,0 +1,179 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.integration.ballerina;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+
+import static org.wso2.integration.ballerina.utils.Utils.getFileHash;
+import static org.wso2.integration.ballerina.utils.Utils.listSortedFiles;
+
+/**
+ * Index of the images in `assets/img`, built once per build. Files of the docs directory having the name of an image
+ * are copied to the site, which is decided by a lookup in the index instead of checking the file system for each file.
+ * Images referenced by the generated pages are recorded while the pages are processed, so that images which are not
+ * referenced by any page and images having the same content under different names can be reported.
+ */
+public class AssetIndex {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Map<String, File> images = new TreeMap<>();
+    private final Set<String> referencedImages = ConcurrentHashMap.newKeySet();
+
+    private AssetIndex() {
+    }
+
+    /**
+     * Build the index of the images of a docs directory.
+     *
+     * @param docsDir docs directory
+     * @return asset index
+     */
+    static AssetIndex build(File docsDir) {
+        AssetIndex index = new AssetIndex();
+        for (File image : listSortedFiles(Paths.get(docsDir.getPath(), "assets", "img").toFile())) {
+            index.images.put(image.getName(), image);
+        }
+        return index;
+    }
+
+    /**
+     * Check whether a file has the name of an image in `assets/img`.
+     *
+     * @param file file
+     * @return whether the file is an image
+     */
+    boolean isImage(File file) {
+        return images.containsKey(file.getName());
+    }
+
+    /**
+     * Record the images referenced by a generated page. An image is referenced if the file name of a link or image
+     * target of the page is the name of the image.
+     *
+     * @param page content of the generated page
+     */
+    void addReferences(CharSequence page) {
+        Matcher matcher = LinkChecker.LINK.matcher(page);
+        while (matcher.find()) {
+            String target = matcher.group(1);
+            int targetEnd = target.length();
+            for (char terminator : new char[]{'?', '#'}) {
+                int index = target.indexOf(terminator);
+                if (index >= 0 && index < targetEnd) {
+                    targetEnd = index;
+                }
+            }
+            String name = target.substring(target.lastIndexOf('/', targetEnd - 1) + 1, targetEnd);
+            if (images.containsKey(name)) {
+                referencedImages.add(name);
+            }
+        }
+    }
+
+    /**
+     * Get the images which are not referenced by any of the pages recorded.
+     *
+     * @return names of the unreferenced images in a sorted order
+     */
+    List<String> getUnreferencedImages() {
+        List<String> unreferencedImages = new ArrayList<>();
+        for (String name : images.keySet()) {
+            if (!referencedImages.contains(name)) {
+                unreferencedImages.add(name);
+            }
+        }
+        return unreferencedImages;
+    }
+
+    /**
+     * Get the images having the same content under different names.
+     *
+     * @return names of the images having the same content, keyed by the content hash
+     */
+    Map<String, List<String>> getDuplicateImages() {
+        Map<String, List<String>> imagesByHash = new TreeMap<>();
+        for (Map.Entry<String, File> image : images.entrySet()) {
+            if (image.getValue().isFile()) {
+                imagesByHash.computeIfAbsent(getFileHash(image.getValue()), key -> new ArrayList<>())
+                        .add(image.getKey());
+            }
+        }
+        imagesByHash.values().removeIf(names -> names.size() < 2);
+        return imagesByHash;
+    }
+
+    /**
+     * Write the duplicate and unreferenced images to a JSON file.
+     *
+     * @param file JSON file
+     * @return report written to the file
+     */
+    Report saveReport(File file) {
+        Report report = new Report(getDuplicateImages(), getUnreferencedImages());
+        try {
+            Files.createDirectories(file.toPath().getParent());
+        } catch (IOException e) {
+            throw new ServiceException("Error occurred when creating directory: " + file.getParent(), e);
+        }
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            GSON.toJson(report, writer);
+        } catch (IOException e) {
+            throw new ServiceException("Error occurred when writing the asset report: " + file.getPath(), e);
+        }
+        return report;
+    }
+
+    /**
+     * Duplicate and unreferenced images of a build.
+     */
+    static class Report {
+        private final Map<String, List<String>> duplicateImages;
+        private final List<String> unreferencedImages;
+
+        Report(Map<String, List<String>> duplicateImages, List<String> unreferencedImages) {
+            this.duplicateImages = duplicateImages;
+            this.unreferencedImages = unreferencedImages;
+        }
+
+        Map<String, List<String>> getDuplicateImages() {
+            return duplicateImages;
+        }
+
+        List<String> getUnreferencedImages() {
+            return unreferencedImages;
+        }
+    }
+}
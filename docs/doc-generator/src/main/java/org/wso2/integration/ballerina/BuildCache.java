@@ -0,0 +1,147 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.integration.ballerina;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.integration.ballerina.metrics.BuildMetrics;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.wso2.integration.ballerina.utils.Utils.deleteFile;
+import static org.wso2.integration.ballerina.utils.Utils.writeFileAtomically;
+
+/**
+ * Content addressed cache of the generated pages and zip files of Ballerina projects. Entries are keyed by the hash of
+ * all the inputs of an output along with the generator version, so the cache directory can be kept between builds
+ * and shared by workspaces of different machines. The last modified time of an entry is updated whenever the entry is
+ * used, and the least recently used entries are evicted once the cache grows beyond its size limit.
+ */
+public class BuildCache {
+    private static final Logger logger = LoggerFactory.getLogger(BuildCache.class);
+
+    private final File cacheDir;
+    private final long maxSize;
+    private final Set<String> usedEntries = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * Create a cache in a given directory.
+     *
+     * @param cacheDir cache directory
+     * @param maxSize  maximum size of the cache in bytes
+     */
+    BuildCache(File cacheDir, long maxSize) {
+        this.cacheDir = cacheDir;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get a cached entry.
+     *
+     * @param key       content hash of the inputs of the entry
+     * @param extension file extension of the entry
+     * @return cached file or null if the cache has no entry for the key
+     */
+    File get(String key, String extension) {
+        File file = getFile(key, extension);
+        usedEntries.add(file.getName());
+        if (file.isFile()) {
+            hits.incrementAndGet();
+            BuildMetrics.addCacheHit();
+            // Used entries are evicted last.
+            if (!file.setLastModified(System.currentTimeMillis())) {
+                logger.debug("Could not update the last modified time of the cache entry: {}", file.getPath());
+            }
+            return file;
+        }
+        misses.incrementAndGet();
+        BuildMetrics.addCacheMiss();
+        return null;
+    }
+
+    /**
+     * Add an entry to the cache. The entry is written atomically, so a partially written entry is never used.
+     *
+     * @param key       content hash of the inputs of the entry
+     * @param extension file extension of the entry
+     * @param content   content of the entry
+     * @return cached file
+     */
+    File put(String key, String extension, byte[] content) {
+        File file = getFile(key, extension);
+        usedEntries.add(file.getName());
+        writeFileAtomically(file, content);
+        BuildMetrics.addBytesWritten(content.length);
+        return file;
+    }
+
+    /**
+     * Get the location of an entry. Entries written by other means must be moved to this location atomically.
+     *
+     * @param key       content hash of the inputs of the entry
+     * @param extension file extension of the entry
+     * @return file of the entry
+     */
+    File getFile(String key, String extension) {
+        return new File(cacheDir, key + "." + extension);
+    }
+
+    /**
+     * Delete the least recently used entries until the size of the cache is within its limit. Entries used by this
+     * build are not deleted even if the cache is still larger than the limit. Hits, misses and evictions are logged.
+     * Used entries, hits and misses are counted again from then on, so each rebuild of the watch mode is evicted on its
+     * own.
+     */
+    void evict() {
+        File[] files = cacheDir.listFiles(File::isFile);
+        List<File> entries = new ArrayList<>(Arrays.asList(files != null ? files : new File[0]));
+        long size = 0;
+        for (File entry : entries) {
+            size += entry.length();
+        }
+        entries.sort(Comparator.comparingLong(File::lastModified).thenComparing(File::getName));
+        int evicted = 0;
+        long evictedSize = 0;
+        for (File entry : entries) {
+            if (size <= maxSize) {
+                break;
+            }
+            if (!usedEntries.contains(entry.getName())) {
+                long length = entry.length();
+                deleteFile(entry);
+                size -= length;
+                evictedSize += length;
+                evicted++;
+            }
+        }
+        logger.info("Build cache: {} hit(s), {} miss(es), evicted {} entries ({} KB), {} KB in {}", hits.getAndSet(0),
+                misses.getAndSet(0), evicted, evictedSize / 1024, size / 1024, cacheDir.getPath());
+        usedEntries.clear();
+    }
+}
@@ -25,9 +25,37 @@ public final class Constants {
 
     // Files
     public static final String README_MD = "README.md";
-    static final String TEMP_DIR_MD = "tempDirectory.md";
     static final String GIT_PROPERTIES_FILE = "git.properties";
     static final String BALLERINA_TOML = "Ballerina.toml";
+    static final String MODULE_MD = "Module.md";
+    static final String BUILD_MANIFEST_JSON = "docs-manifest.json";
+    static final String BUILD_CACHE_DIR_NAME = "build-cache";
+    static final String VERIFY_DIR_NAME = "verify-deterministic";
+    static final String INCLUDE_GRAPH_JSON = "docs-include-graph.json";
+    static final String ASSET_REPORT_JSON = "docs-asset-report.json";
+    static final String LINK_REPORT_JSON = "docs-link-report.json";
+    static final String METRICS_JSON = "docs-metrics.json";
+    static final String METRICS_PROMETHEUS = "docs-metrics.prom";
+
+    // Build options
+    static final String DOCS_GENERATOR_VERSION = "3";
+    static final String INCREMENTAL_BUILD_FLAG = "--incremental";
+    static final String THREADS_OPTION = "--threads=";
+    static final String HARD_LINKS_FLAG = "--hard-links";
+    static final String PRUNE_ASSETS_FLAG = "--prune-assets";
+    static final String CHECK_LINKS_FLAG = "--check-links";
+    static final String AFFECTED_PAGES_OPTION = "--affected-pages=";
+    static final String VALIDATE_FLAG = "--validate";
+    static final String VERIFY_DETERMINISTIC_FLAG = "--verify-deterministic";
+    static final String WATCH_FLAG = "--watch";
+    static final String PORT_OPTION = "--port=";
+    static final int DEFAULT_PORT = 8000;
+    static final String METRICS_OPTION = "--metrics=";
+    static final String METRICS_SLOWEST_OPTION = "--metrics-slowest=";
+    static final int DEFAULT_SLOWEST = 10;
+    static final String CACHE_DIR_OPTION = "--cache-dir=";
+    static final String CACHE_SIZE_OPTION = "--cache-size=";
+    static final long DEFAULT_CACHE_SIZE_MB = 512;
 
     // Special syntax
     static final String INCLUDE_CODE_TAG = "INCLUDE_CODE:";
@@ -43,14 +71,15 @@ public final class Constants {
     public static final String LICENCE_LAST_LINE = "// under the License.";
     static final String OPEN_CURLY_BRACKET = "{";
     static final String CLOSE_CURLY_BRACKET = "}";
-    static final String CODE_SEGMENT_BEGIN = "// CODE-SEGMENT-BEGIN: ";
-    static final String CODE_SEGMENT_END = "// CODE-SEGMENT-END: ";
+    public static final String CODE_SEGMENT_BEGIN = "// CODE-SEGMENT-BEGIN: ";
+    public static final String CODE_SEGMENT_END = "// CODE-SEGMENT-END: ";
     public static final String CODE_MD_SYNTAX = THREE_BACK_TICKS + NEW_LINE + CODE + NEW_LINE + THREE_BACK_TICKS;
     public static final String FORWARD_SLASH = "/";
     static final String COMMA = ",";
     public static final String HASH = "#";
     public static final String EQUAL = "=";
     static final String MARKDOWN_FILE_EXT = "md";
+    public static final String SHA_256 = "SHA-256";
     public static final String GIT_COMMIT_ID = "git.commit.id";
     public static final String COMMIT_HASH = "commitHash: ";
     public static final String TITLE = "title: ";
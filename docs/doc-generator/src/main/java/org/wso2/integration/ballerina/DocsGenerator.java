@@ -18,60 +18,110 @@
 
 package org.wso2.integration.ballerina;
 
-import net.lingala.zip4j.ZipFile;
-import net.lingala.zip4j.exception.ZipException;
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.log4j.BasicConfigurator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.integration.ballerina.constants.DynamicTagConstants;
+import org.wso2.integration.ballerina.directive.DirectiveContext;
+import org.wso2.integration.ballerina.directive.DirectiveEngine;
+import org.wso2.integration.ballerina.directive.DirectiveHandler;
+import org.wso2.integration.ballerina.directive.DirectiveMatch;
+import org.wso2.integration.ballerina.directive.DirectiveRegistry;
+import org.wso2.integration.ballerina.directive.DirectiveScanner;
+import org.wso2.integration.ballerina.include.CodeFile;
+import org.wso2.integration.ballerina.include.Include;
+import org.wso2.integration.ballerina.include.IncludeCache;
+import org.wso2.integration.ballerina.incremental.BuildManifest;
+import org.wso2.integration.ballerina.incremental.InputHashes;
+import org.wso2.integration.ballerina.metrics.BuildMetrics;
+import org.wso2.integration.ballerina.metrics.ConsoleMetricsSink;
+import org.wso2.integration.ballerina.metrics.JsonMetricsSink;
+import org.wso2.integration.ballerina.metrics.MetricsReport;
+import org.wso2.integration.ballerina.metrics.MetricsSink;
+import org.wso2.integration.ballerina.metrics.PrometheusMetricsSink;
+import org.wso2.integration.ballerina.utils.DirectoryWalker;
+import org.wso2.integration.ballerina.utils.LineReader;
 import org.wso2.integration.ballerina.utils.ServiceException;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
+import static org.wso2.integration.ballerina.Constants.AFFECTED_PAGES_OPTION;
+import static org.wso2.integration.ballerina.Constants.ASSET_REPORT_JSON;
 import static org.wso2.integration.ballerina.Constants.BALLERINA_TOML;
+import static org.wso2.integration.ballerina.Constants.BUILD_CACHE_DIR_NAME;
+import static org.wso2.integration.ballerina.Constants.CACHE_DIR_OPTION;
+import static org.wso2.integration.ballerina.Constants.CACHE_SIZE_OPTION;
+import static org.wso2.integration.ballerina.Constants.CHECK_LINKS_FLAG;
 import static org.wso2.integration.ballerina.Constants.CLOSE_CURLY_BRACKET;
-import static org.wso2.integration.ballerina.Constants.CODE_SEGMENT_BEGIN;
-import static org.wso2.integration.ballerina.Constants.CODE_SEGMENT_END;
 import static org.wso2.integration.ballerina.Constants.COMMA;
 import static org.wso2.integration.ballerina.Constants.COMMENT_END;
-import static org.wso2.integration.ballerina.Constants.COMMENT_START;
+import static org.wso2.integration.ballerina.Constants.DEFAULT_CACHE_SIZE_MB;
+import static org.wso2.integration.ballerina.Constants.DEFAULT_PORT;
+import static org.wso2.integration.ballerina.Constants.DEFAULT_SLOWEST;
+import static org.wso2.integration.ballerina.Constants.DOCS_GENERATOR_VERSION;
 import static org.wso2.integration.ballerina.Constants.EMPTY_STRING;
+import static org.wso2.integration.ballerina.Constants.HARD_LINKS_FLAG;
 import static org.wso2.integration.ballerina.Constants.HASH;
 import static org.wso2.integration.ballerina.Constants.INCLUDE_CODE_SEGMENT_TAG;
 import static org.wso2.integration.ballerina.Constants.INCLUDE_CODE_TAG;
+import static org.wso2.integration.ballerina.Constants.INCLUDE_GRAPH_JSON;
 import static org.wso2.integration.ballerina.Constants.INCLUDE_MD_TAG;
+import static org.wso2.integration.ballerina.Constants.INCREMENTAL_BUILD_FLAG;
+import static org.wso2.integration.ballerina.Constants.LINK_REPORT_JSON;
 import static org.wso2.integration.ballerina.Constants.MARKDOWN_FILE_EXT;
+import static org.wso2.integration.ballerina.Constants.METRICS_JSON;
+import static org.wso2.integration.ballerina.Constants.METRICS_OPTION;
+import static org.wso2.integration.ballerina.Constants.METRICS_PROMETHEUS;
+import static org.wso2.integration.ballerina.Constants.METRICS_SLOWEST_OPTION;
+import static org.wso2.integration.ballerina.Constants.MODULE_MD;
 import static org.wso2.integration.ballerina.Constants.NEW_LINE;
 import static org.wso2.integration.ballerina.Constants.OPEN_CURLY_BRACKET;
-import static org.wso2.integration.ballerina.Constants.README_MD;
-import static org.wso2.integration.ballerina.Constants.TEMP_DIR_MD;
+import static org.wso2.integration.ballerina.Constants.PORT_OPTION;
+import static org.wso2.integration.ballerina.Constants.PRUNE_ASSETS_FLAG;
+import static org.wso2.integration.ballerina.Constants.THREADS_OPTION;
+import static org.wso2.integration.ballerina.Constants.VALIDATE_FLAG;
+import static org.wso2.integration.ballerina.Constants.VERIFY_DETERMINISTIC_FLAG;
+import static org.wso2.integration.ballerina.Constants.VERIFY_DIR_NAME;
+import static org.wso2.integration.ballerina.Constants.WATCH_FLAG;
+import static org.wso2.integration.ballerina.SiteTree.getPageOutputPath;
+import static org.wso2.integration.ballerina.SiteTree.getZipOutputPath;
 import static org.wso2.integration.ballerina.utils.Utils.addPrevDirectorySyntax;
-import static org.wso2.integration.ballerina.utils.Utils.copyDirectoryContent;
-import static org.wso2.integration.ballerina.utils.Utils.createDirectory;
-import static org.wso2.integration.ballerina.utils.Utils.createFile;
 import static org.wso2.integration.ballerina.utils.Utils.deleteDirectory;
-import static org.wso2.integration.ballerina.utils.Utils.deleteFile;
-import static org.wso2.integration.ballerina.utils.Utils.getCodeFile;
+import static org.wso2.integration.ballerina.utils.Utils.getHash;
 import static org.wso2.integration.ballerina.utils.Utils.getLeadingWhitespaces;
 import static org.wso2.integration.ballerina.utils.Utils.getMarkdownCodeBlockWithCodeType;
 import static org.wso2.integration.ballerina.utils.Utils.getPostFrontMatter;
+import static org.wso2.integration.ballerina.utils.Utils.getRelativePath;
 import static org.wso2.integration.ballerina.utils.Utils.getStringBetweenTwoStrings;
-import static org.wso2.integration.ballerina.utils.Utils.getZipFileName;
-import static org.wso2.integration.ballerina.utils.Utils.isDirEmpty;
 import static org.wso2.integration.ballerina.utils.Utils.isImageAttachmentLine;
-import static org.wso2.integration.ballerina.utils.Utils.removeLicenceHeader;
+import static org.wso2.integration.ballerina.utils.Utils.writeFileAtomically;
 
 /**
  * Main class of the site creator project.
@@ -79,127 +129,615 @@ import static org.wso2.integration.ballerina.utils.Utils.removeLicenceHeader;
 public class DocsGenerator {
     // Setup logger.
     private static final Logger logger = LoggerFactory.getLogger(DocsGenerator.class);
+    // Files included in markdown files are read once per build.
+    static final IncludeCache INCLUDE_CACHE = new IncludeCache();
+    // Inputs of the pages and project zip files are hashed once per build.
+    static final InputHashes INPUT_HASHES = new InputHashes();
+    // Inclusion directives of markdown files in the order of precedence when a line has more than one of them.
+    private static final DirectiveScanner<Include.Type> INCLUDE_DIRECTIVES = new DirectiveRegistry<Include.Type>()
+            .register(INCLUDE_CODE_TAG, Include.Type.INCLUDE_CODE)
+            .register(INCLUDE_CODE_SEGMENT_TAG, Include.Type.INCLUDE_CODE_SEGMENT)
+            .register(INCLUDE_MD_TAG, Include.Type.INCLUDE_MD)
+            .compile();
+    private static final DirectiveHandler INCLUDE_CODE_HANDLER = new IncludeCodeHandler();
+    private static final DirectiveHandler INCLUDE_CODE_SEGMENT_HANDLER = new IncludeCodeSegmentHandler();
+    // Directives replacing markdown lines, including the ones of the handlers loaded from the class path.
+    static final DirectiveEngine DIRECTIVES = new DirectiveEngine(Arrays.asList(INCLUDE_CODE_HANDLER,
+            INCLUDE_CODE_SEGMENT_HANDLER, new IncludeMarkdownHandler()));
 
     public static void main(String[] args) {
         // Directory paths
-        final String DOCS_DIR = Paths.get(args[0], "..", "content", "src").toString();
+        final String DOCS_DIR = Paths.get(args[0], "..", "content", "src").normalize().toString();
         final String TARGET_DIR = Paths.get(args[0], "target").toString();
 
-        final String TEMP_DIR = Paths.get(TARGET_DIR, "tempDirectory").toString();
-        final String MKDOCS_CONTENT = Paths.get(TARGET_DIR, "mkdocs-content").toString();
-        // This directory is used to keep the files that are being copied to the zip file
-        final String TEMP_ZIP_DIR = Paths.get(TARGET_DIR, "tempZipDirectory").toString();
-
         BasicConfigurator.configure();
-        logger.info("Docs generating process started...");
-        // First delete already created mkdocs-content directory.
-        deleteDirectory(MKDOCS_CONTENT);
-        // Create needed directory structure.
-        createDirectory(TEMP_DIR);
-        createFile(TEMP_DIR + File.separator + "temp.txt");
-        createDirectory(MKDOCS_CONTENT);
-        // Get a copy of examples directory.
-        copyDirectoryContent(DOCS_DIR, TEMP_DIR);
-        // Process repository to generate guide templates.
-        processDirectory(TEMP_DIR);
-        // Copy content in tempDirectory to tempZipDirectory.
-        copyDirectoryContent(TEMP_DIR, TEMP_ZIP_DIR);
+        INCLUDE_CACHE.clear();
+        INPUT_HASHES.clear();
+        DIRECTIVES.clearOutputs();
+        for (DirectiveHandler handler : DIRECTIVES.getLoadedHandlers()) {
+            logger.info("Loaded handler {} of the directive {}", handler.getClass().getName(), handler.getTag());
+        }
+        BuildMetrics.reset(new File(DOCS_DIR));
+        List<MetricsSink> metricsSinks = getMetricsSinks(args, TARGET_DIR);
+        int threads = getThreadCount(args);
+        // Build the include graph and validate the inclusions before processing the content, so that all the errors
+        // are reported together and nothing is written for invalid docs.
+        IncludeGraph includeGraph;
+        try (DirectoryWalker walker = new DirectoryWalker(threads)) {
+            includeGraph = BuildMetrics.time("graph", () -> {
+                IncludeGraph graph = IncludeGraph.build(new File(DOCS_DIR), walker);
+                graph.save(Paths.get(TARGET_DIR, INCLUDE_GRAPH_JSON).toFile());
+                return graph;
+            });
+            String changedFile = getOptionValue(args, AFFECTED_PAGES_OPTION);
+            if (changedFile != null) {
+                logger.info("Pages affected by changes of {}: {}", changedFile,
+                        includeGraph.getAffectedPages(changedFile));
+                return;
+            }
+            BuildMetrics.time("validate", () -> includeGraph.validate(walker));
+        }
+        if (Arrays.asList(args).contains(VALIDATE_FLAG)) {
+            logger.info("Docs are valid.");
+            reportMetrics(args, metricsSinks);
+            return;
+        }
+        if (Arrays.asList(args).contains(VERIFY_DETERMINISTIC_FLAG)) {
+            verifyDeterministic(DOCS_DIR, Paths.get(TARGET_DIR, VERIFY_DIR_NAME).toFile(), threads);
+            reportMetrics(args, metricsSinks);
+            return;
+        }
+        // Unchanged files are hard linked instead of being copied between build directories.
+        boolean hardLinks = Arrays.asList(args).contains(HARD_LINKS_FLAG);
+        // Generated pages and zip files of Ballerina projects are kept in this cache between builds.
+        BuildCache cache = new BuildCache(getCacheDir(args, TARGET_DIR), getCacheSize(args));
+        if (Arrays.asList(args).contains(WATCH_FLAG)) {
+            new DocsWatcher(DOCS_DIR, TARGET_DIR, cache, hardLinks, threads).watch(getPort(args));
+            return;
+        }
+        // Incremental builds reuse the outputs whose inputs are unchanged and write only the files changed since the
+        // previous build.
+        boolean incremental = Arrays.asList(args).contains(INCREMENTAL_BUILD_FLAG);
+        logger.info("{} process started with {} thread(s)...",
+                incremental ? "Incremental docs generating" : "Docs generating", threads);
+        SiteWriter siteWriter = new SiteWriter(TARGET_DIR, hardLinks);
+        BuildManifest previousManifest = incremental ? siteWriter.loadManifest() : new BuildManifest(getBuildVersion());
+        // The site is built in memory and written out once, so no temporary copy of the docs directory is needed.
+        SiteTree site;
+        AssetIndex assets = AssetIndex.build(new File(DOCS_DIR));
+        try (DirectoryWalker walker = new DirectoryWalker(threads)) {
+            site = buildSite(DOCS_DIR, cache, new ProjectArchiver(new File(DOCS_DIR), cache, hardLinks), assets,
+                    new PreviousBuild(new File(DOCS_DIR), siteWriter.getMkdocsContent(), previousManifest,
+                            INPUT_HASHES), walker);
+            AssetIndex.Report assetReport = assets.saveReport(Paths.get(TARGET_DIR, ASSET_REPORT_JSON).toFile());
+            logger.info("Found {} group(s) of duplicate images and {} image(s) not referenced by any page.",
+                    assetReport.getDuplicateImages().size(), assetReport.getUnreferencedImages().size());
+            if (Arrays.asList(args).contains(PRUNE_ASSETS_FLAG)) {
+                logger.info("Removed {} unreferenced image file(s) from the site.",
+                        site.removeFiles(assetReport.getUnreferencedImages()));
+            }
+            // Check links of the pages against the site before anything is written.
+            BuildMetrics.time("links", () -> checkLinks(site, Paths.get(TARGET_DIR, "..", "www", "docs").toFile(),
+                    includeGraph, Paths.get(TARGET_DIR, LINK_REPORT_JSON).toFile(),
+                    Arrays.asList(args).contains(CHECK_LINKS_FLAG), walker));
+            BuildMetrics.time("website", () -> {
+                // Write the site to `target/mkdocs-content` and to `target/www/docs` of the website directory.
+                siteWriter.write(site, previousManifest, walker);
+                // Delete the least recently used cache entries if the cache is too large.
+                cache.evict();
+            });
+        }
+        logger.info("Generated {} files of the site.", site.size());
+        reportMetrics(args, metricsSinks);
+        logger.info("{} process finished...", incremental ? "Incremental docs generating" : "Docs generating");
+    }
+
+    /**
+     * Check links of the generated pages and write the dangling ones to a report.
+     *
+     * @param site         site having the generated pages
+     * @param templateDir  docs directory of the website template
+     * @param includeGraph include graph of the docs
+     * @param reportFile   JSON file the report is written to
+     * @param failOnError  whether the build fails if there are dangling links
+     * @param walker       directory walker
+     */
+    private static void checkLinks(SiteTree site, File templateDir, IncludeGraph includeGraph, File reportFile,
+                                   boolean failOnError, DirectoryWalker walker) {
+        Set<String> includedPages = new TreeSet<>();
+        for (String includedPage : includeGraph.getIncludedPages()) {
+            includedPages.add(getPageOutputPath(includedPage));
+        }
+        LinkChecker.Report report = LinkChecker.build(site, templateDir, includedPages, walker).check(walker);
+        report.save(reportFile);
+        List<String> danglingLinks = report.getDanglingLinks();
+        logger.info("Checked {} link(s) of {} page(s) and found {} dangling link(s). Report: {}",
+                report.getCheckedLinks(), report.getPages(), danglingLinks.size(), reportFile.getPath());
+        if (failOnError && !danglingLinks.isEmpty()) {
+            throw new ServiceException("Found " + danglingLinks.size() + " dangling link(s) in the site:\n\t"
+                    + String.join("\n\t", danglingLinks));
+        }
+    }
+
+    /**
+     * Build the site twice from scratch and compare hashes of the generated files. The first build uses the given
+     * number of threads and the second one is sequential, so differences caused by the order of concurrent processing
+     * are found as well. Only the zip files of the builds are written, to a temporary directory which is deleted
+     * afterwards.
+     *
+     * @param docsDir   path of the source docs directory
+     * @param verifyDir temporary directory for the zip files
+     * @param threads   number of threads of the first build
+     */
+    private static void verifyDeterministic(String docsDir, File verifyDir, int threads) {
+        logger.info("Verifying that the docs output is deterministic...");
+        Map<String, String> firstHashes;
+        Map<String, String> secondHashes;
+        try {
+            firstHashes = BuildMetrics.time("verify-1",
+                    () -> getSiteHashes(docsDir, new File(verifyDir, "1"), threads));
+            secondHashes = BuildMetrics.time("verify-2", () -> getSiteHashes(docsDir, new File(verifyDir, "2"), 1));
+        } finally {
+            deleteDirectory(verifyDir.getPath());
+        }
+        Set<String> paths = new TreeSet<>(firstHashes.keySet());
+        paths.addAll(secondHashes.keySet());
+        List<String> differences = new ArrayList<>();
+        for (String path : paths) {
+            if (!Objects.equals(firstHashes.get(path), secondHashes.get(path))) {
+                differences.add(path);
+            }
+        }
+        if (!differences.isEmpty()) {
+            throw new ServiceException("Docs output is not deterministic. Files differing between two builds:\n\t"
+                    + String.join("\n\t", differences));
+        }
+        logger.info("Docs output is deterministic. {} files are identical in two builds.", paths.size());
+    }
+
+    /**
+     * Build the site from scratch without reusing any cached content and get hashes of the generated files.
+     *
+     * @param docsDir  path of the source docs directory
+     * @param cacheDir empty directory to keep the zip files
+     * @param threads  number of threads
+     * @return hashes of the generated files keyed by their paths
+     */
+    private static Map<String, String> getSiteHashes(String docsDir, File cacheDir, int threads) {
+        INCLUDE_CACHE.clear();
+        INPUT_HASHES.clear();
+        DIRECTIVES.clearOutputs();
+        BuildCache cache = new BuildCache(cacheDir, Long.MAX_VALUE);
+        try (DirectoryWalker walker = new DirectoryWalker(threads)) {
+            return buildSite(docsDir, cache, new ProjectArchiver(new File(docsDir), cache, false),
+                    AssetIndex.build(new File(docsDir)), new PreviousBuild(new File(docsDir), cacheDir,
+                            new BuildManifest(getBuildVersion()), INPUT_HASHES), walker).getHashes(walker, INPUT_HASHES);
+        }
+    }
+
+    /**
+     * Build the site of the docs in memory. Pages and zip files of Ballerina projects whose inputs are unchanged since
+     * the previous build are reused. Other pages are processed and zip files are created only if the build cache has
+     * no entry for their current inputs. Full, incremental and watch builds all use this site and differ only in the
+     * previous build and how the site is written.
+     *
+     * @param docsDir  path of the source docs directory
+     * @param cache    build cache of the processed pages and zip files
+     * @param archiver archiver of Ballerina projects
+     * @param assets   index of the images
+     * @param previous outputs of the previous build
+     * @param walker   directory walker
+     * @return site having the pages, assets and zip files
+     */
+    static SiteTree buildSite(String docsDir, BuildCache cache, ProjectArchiver archiver, AssetIndex assets,
+                              PreviousBuild previous, DirectoryWalker walker) {
+        SiteTree site = new SiteTree();
+        // Process pages and select assets of the repository.
+        BuildMetrics.time("process", () -> addPagesAndAssets(docsDir, site, cache, assets, previous, walker));
         // Zip Ballerina projects.
-        zipBallerinaProjects(TEMP_ZIP_DIR, TEMP_DIR);
-        // Delete non markdown files.
-        deleteUnwantedFiles(TEMP_DIR, DOCS_DIR);
-        // Delete empty directories.
-        deleteEmptyDirs(TEMP_DIR);
-        // Copy tempDirectory content to mkdocs content directory.
-        copyDirectoryContent(TEMP_DIR, MKDOCS_CONTENT);
-        // Create `target/www` website directory.
-        createWebsiteDirectory(Paths.get(TARGET_DIR, "..", "www").toString(), Paths.get(TARGET_DIR, "www").toString(),
-                MKDOCS_CONTENT);
-        // Delete tempZipDirectory which contained the files to be zipped
-        deleteDirectory(TEMP_ZIP_DIR);
-        logger.info("Docs generating process finished...");
-    }
-
-    /**
-     * Process files inside given directory.
-     *
-     * @param directoryPath path of the directory
-     */
-    private static void processDirectory(String directoryPath) {
-        // Delete doc-generator directory.
-        deleteDirectory(directoryPath + File.separator + "doc-generator");
-
-        File folder = new File(directoryPath);
-        File[] listOfFiles = folder.listFiles();
-
-        if (listOfFiles != null) {
-            for (File file : listOfFiles) {
-                String fileExtension = FilenameUtils.getExtension(file.getName());
-                if (file.isFile()) {
-                    // All markdown files other than `Module.md` files will be processed.
-                    if (fileExtension.equals(MARKDOWN_FILE_EXT) && !file.getName().equals("Module.md")) {
-                        processReadmeFile(file);
-                        renameReadmeFile(file);
-                    } else if ((fileExtension.equals("bal") || fileExtension.equals("java"))
-                            && !processCodeFile(file, directoryPath)) {
-                        throw new ServiceException("Processing code file failed, file:" + file.getPath());
+        BuildMetrics.time("zip", () -> zipBallerinaProjects(docsDir, site, archiver, previous, walker));
+        logger.info("Reused {} page(s) and project zip file(s) of the previous build.", previous.getReused());
+        return site;
+    }
+
+    /**
+     * Get the version of the build, which is the generator version along with the directive handlers loaded from the
+     * class path. Outputs of a build of another version are not reused.
+     *
+     * @return build version
+     */
+    static String getBuildVersion() {
+        StringBuilder version = new StringBuilder(DOCS_GENERATOR_VERSION);
+        for (DirectiveHandler handler : DIRECTIVES.getLoadedHandlers()) {
+            version.append(NEW_LINE).append(handler.getClass().getName());
+        }
+        return version.toString();
+    }
+
+    /**
+     * Get the number of threads used to walk through directories, given as `--threads=<count>`. Directories are
+     * processed sequentially by default.
+     *
+     * @param args program arguments
+     * @return number of threads
+     */
+    private static int getThreadCount(String[] args) {
+        String threads = getOptionValue(args, THREADS_OPTION);
+        if (threads == null) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(threads.trim());
+        } catch (NumberFormatException e) {
+            throw new ServiceException("Invalid thread count: " + threads, e);
+        }
+    }
+
+    /**
+     * Get the sinks to report build metrics, given as `--metrics=<sink>,<sink>`. A sink is either `console`, `json`,
+     * `prometheus`, `none` or the class name of a {@link MetricsSink} implementation. Metrics are logged to the
+     * console by default.
+     *
+     * @param args      program arguments
+     * @param targetDir path of the target directory where metrics files are written
+     * @return metrics sinks
+     */
+    private static List<MetricsSink> getMetricsSinks(String[] args, String targetDir) {
+        String sinkNames = getOptionValue(args, METRICS_OPTION);
+        List<MetricsSink> sinks = new ArrayList<>();
+        for (String sinkName : (sinkNames != null ? sinkNames : "console").split(COMMA)) {
+            switch (sinkName.trim()) {
+            case "":
+            case "none":
+                break;
+            case "console":
+                sinks.add(new ConsoleMetricsSink());
+                break;
+            case "json":
+                sinks.add(new JsonMetricsSink(Paths.get(targetDir, METRICS_JSON).toFile()));
+                break;
+            case "prometheus":
+                sinks.add(new PrometheusMetricsSink(Paths.get(targetDir, METRICS_PROMETHEUS).toFile()));
+                break;
+            default:
+                try {
+                    sinks.add((MetricsSink) Class.forName(sinkName.trim()).getConstructor().newInstance());
+                } catch (ReflectiveOperationException | ClassCastException e) {
+                    throw new ServiceException("Invalid metrics sink: " + sinkName, e);
+                }
+                break;
+            }
+        }
+        return sinks;
+    }
+
+    /**
+     * Report build metrics to the given sinks. The number of the slowest pages and included files to report is given
+     * as `--metrics-slowest=<count>`.
+     *
+     * @param args  program arguments
+     * @param sinks metrics sinks
+     */
+    private static void reportMetrics(String[] args, List<MetricsSink> sinks) {
+        if (sinks.isEmpty()) {
+            return;
+        }
+        String slowest = getOptionValue(args, METRICS_SLOWEST_OPTION);
+        MetricsReport report;
+        try {
+            report = BuildMetrics.getReport(slowest != null ? Integer.parseInt(slowest.trim()) : DEFAULT_SLOWEST);
+        } catch (NumberFormatException e) {
+            throw new ServiceException("Invalid number of the slowest pages: " + slowest, e);
+        }
+        for (MetricsSink sink : sinks) {
+            sink.report(report);
+        }
+    }
+
+    /**
+     * Get the port to serve the website in watch mode, given as `--port=<port>`.
+     *
+     * @param args program arguments
+     * @return port
+     */
+    private static int getPort(String[] args) {
+        String port = getOptionValue(args, PORT_OPTION);
+        if (port == null) {
+            return DEFAULT_PORT;
+        }
+        try {
+            return Integer.parseInt(port.trim());
+        } catch (NumberFormatException e) {
+            throw new ServiceException("Invalid port: " + port, e);
+        }
+    }
+
+    /**
+     * Get the build cache directory, given as `--cache-dir=<path>`. The cache is kept inside the target directory by
+     * default.
+     *
+     * @param args      program arguments
+     * @param targetDir path of the target directory
+     * @return build cache directory
+     */
+    private static File getCacheDir(String[] args, String targetDir) {
+        String cacheDir = getOptionValue(args, CACHE_DIR_OPTION);
+        return cacheDir != null ? new File(cacheDir.trim()) : Paths.get(targetDir, BUILD_CACHE_DIR_NAME).toFile();
+    }
+
+    /**
+     * Get the maximum size of the build cache in megabytes, given as `--cache-size=<size>`.
+     *
+     * @param args program arguments
+     * @return maximum size of the build cache in bytes
+     */
+    private static long getCacheSize(String[] args) {
+        String cacheSize = getOptionValue(args, CACHE_SIZE_OPTION);
+        if (cacheSize == null) {
+            return DEFAULT_CACHE_SIZE_MB * 1024 * 1024;
+        }
+        try {
+            return Long.parseLong(cacheSize.trim()) * 1024 * 1024;
+        } catch (NumberFormatException e) {
+            throw new ServiceException("Invalid cache size: " + cacheSize, e);
+        }
+    }
+
+    /**
+     * Get value of an option given as `<option><value>`.
+     *
+     * @param args   program arguments
+     * @param option option with the trailing `=`
+     * @return value of the option or null if the option is not given
+     */
+    private static String getOptionValue(String[] args, String option) {
+        for (String arg : args) {
+            if (arg.startsWith(option)) {
+                return arg.substring(option.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add pages and assets inside a given directory to the site. Pages are reused from the previous build if their
+     * inputs are unchanged, or else processed in memory unless the build cache has them. README.md files are added as
+     * `1.md`. Other than pages, only `zip` files and images of `assets/img` are needed by the site. Images referenced
+     * by the pages are recorded in the asset index.
+     *
+     * @param docsDir  path of the source docs directory
+     * @param site     site to add pages and assets
+     * @param cache    build cache of the processed pages
+     * @param assets   index of the images
+     * @param previous outputs of the previous build
+     * @param walker   directory walker
+     */
+    private static void addPagesAndAssets(String docsDir, SiteTree site, BuildCache cache, AssetIndex assets,
+                                          PreviousBuild previous, DirectoryWalker walker) {
+        File directory = new File(docsDir);
+        walker.walk(directory, new DirectoryWalker.Visitor() {
+            @Override
+            public void visitFile(File file) {
+                String relativePath = getRelativePath(directory, file);
+                // All markdown files other than `Module.md` files will be processed.
+                if (isPage(file)) {
+                    String outputPath = getPageOutputPath(relativePath);
+                    if (!previous.reuse(site, outputPath)) {
+                        Map<String, String> inputs = getPageInputs(directory, file);
+                        site.addFile(outputPath, getCachedPage(file, inputs, cache), inputs);
                     }
-                } else if (file.isDirectory()) {
-                    processDirectory(file.getPath());
+                    assets.addReferences(new String(site.getContent(outputPath), StandardCharsets.UTF_8));
+                } else if (!isUnwanted(file, assets)) {
+                    site.addFile(relativePath, file);
                 }
             }
+
+            @Override
+            public boolean acceptDirectory(File directory) {
+                // doc-generator directory is not a part of the docs content.
+                return !directory.getName().equals("doc-generator");
+            }
+        });
+    }
+
+    /**
+     * Check whether a given file is a markdown page. All markdown files other than `Module.md` files are pages.
+     *
+     * @param file file
+     * @return is a page
+     */
+    static boolean isPage(File file) {
+        return FilenameUtils.getExtension(file.getName()).equals(MARKDOWN_FILE_EXT)
+                && !file.getName().equals(MODULE_MD);
+    }
+
+    /**
+     * Process a given README.md by reading through lines. Included files are resolved relative to the given README.md
+     * file and the processed content is written to the output file.
+     *
+     * @param file       README.md file
+     * @param outputFile file to write the processed content
+     */
+    static void processReadmeFile(File file, File outputFile) {
+        byte[] content = renderPage(file);
+        // Output file may be a hard link of the source file, so it is replaced instead of being overwritten.
+        writeFileAtomically(outputFile, content);
+        BuildMetrics.addBytesWritten(content.length);
+    }
+
+    /**
+     * Get the processed content of a given README.md from the build cache. The README.md file is processed and added
+     * to the cache if the cache has no entry for its current inputs.
+     *
+     * @param file   README.md file
+     * @param inputs hashes of the inputs of the README.md file
+     * @param cache  build cache
+     * @return cached file having the processed content
+     */
+    static File getCachedPage(File file, Map<String, String> inputs, BuildCache cache) {
+        String key = getPageKey(inputs);
+        File cachedPage = cache.get(key, MARKDOWN_FILE_EXT);
+        if (cachedPage == null) {
+            cachedPage = cache.put(key, MARKDOWN_FILE_EXT, renderPage(file));
+        }
+        return cachedPage;
+    }
+
+    /**
+     * Get the build cache key of a given README.md. The key is the hash of the build version and the hashes of all the
+     * inputs of the processed content.
+     *
+     * @param inputs hashes of the inputs of the README.md file
+     * @return cache key
+     */
+    private static String getPageKey(Map<String, String> inputs) {
+        StringBuilder key = new StringBuilder(getBuildVersion()).append(NEW_LINE);
+        for (Map.Entry<String, String> input : inputs.entrySet()) {
+            key.append(input.getKey()).append('=').append(input.getValue()).append(NEW_LINE);
         }
+        return getHash(key.toString());
     }
 
     /**
-     * Process a given README.md by reading through lines.
+     * Get the hashes of the inputs of a given README.md by their paths relative to the docs directory: the README.md
+     * file, the files it includes and the `src` directory of its project, since the module name of the project is
+     * resolved using the directory names inside it.
+     *
+     * @param docsDir docs directory
+     * @param file    README.md file
+     * @return hashes of the inputs
+     */
+    static Map<String, String> getPageInputs(File docsDir, File file) {
+        Map<String, String> inputs = new LinkedHashMap<>();
+        INPUT_HASHES.addFile(docsDir, file, inputs);
+        for (File includedFile : getIncludedFiles(file)) {
+            INPUT_HASHES.addFile(docsDir, includedFile, inputs);
+        }
+        INPUT_HASHES.addDirectory(docsDir, new File(file.getParentFile(), "src"), inputs);
+        return inputs;
+    }
+
+    /**
+     * Process a given README.md in memory. Included files are resolved relative to the given README.md file.
      *
      * @param file README.md file
+     * @return processed content encoded in UTF-8
+     */
+    static byte[] renderPage(File file) {
+        long startTime = System.nanoTime();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream((int) file.length());
+        try (LineReader reader = new LineReader(new InputStreamReader(new FileInputStream(file),
+                StandardCharsets.UTF_8));
+             Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+            rewriteReadme(file, reader, writer);
+        } catch (IOException e) {
+            throw new ServiceException("Could not find the README.md file: " + file.getPath(), e);
+        }
+        BuildMetrics.addFiles(1);
+        BuildMetrics.addBytesRead(file.length());
+        BuildMetrics.recordPage(file, System.nanoTime() - startTime);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Rewrite README.md content in a single pass. Each line is read once and written to the writer after replacing
+     * INCLUDE_CODE, INCLUDE_CODE_SEGMENT and INCLUDE_MD lines with the included content, the heading line with the
+     * front matter and image attachment lines with website image attachments.
+     *
+     * @param file   README.md file used to resolve included files
+     * @param reader reader of the README.md content
+     * @param writer writer of the processed content
+     * @throws IOException if reading or writing fails
      */
-    private static void processReadmeFile(File file) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String readMeFileContent = IOUtils
-                    .toString(new FileInputStream(file), String.valueOf(StandardCharsets.UTF_8));
+    static void rewriteReadme(File file, LineReader reader, Writer writer) throws IOException {
+        String line;
+        int lineNumber = 0;
+        String title = "";
+        // Markdown files being included, used to detect cyclic INCLUDE_MD inclusions.
+        Deque<File> includeStack = new ArrayDeque<>();
+        includeStack.push(file.toPath().normalize().toFile());
+        DirectiveMatch<DirectiveHandler> match = new DirectiveMatch<>();
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            DirectiveHandler handler = DIRECTIVES.scan(line, match);
+            if (handler == INCLUDE_CODE_HANDLER || handler == INCLUDE_CODE_SEGMENT_HANDLER) {
+                // Replace INCLUDE_CODE and INCLUDE_CODE_SEGMENT lines with included code.
+                writer.write(DIRECTIVES.handle(handler, new DirectiveContext(file, line,
+                        match.getArgument(COMMENT_END), title, includeStack)));
+            } else if (lineNumber == 1 && line.contains(HASH)) {
+                // Adding front matter to posts.
+                writer.write(getPostFrontMatter(line));
+                title = line.replace(HASH, EMPTY_STRING).trim();
+            } else if (isImageAttachmentLine(line)) {
+                writer.write(getWebsiteImageAttachment(line));
+            } else if (handler != null) {
+                // Replace INCLUDE_MD and custom directive lines.
+                writer.write(DIRECTIVES.handle(handler, new DirectiveContext(file, line,
+                        match.getArgument(COMMENT_END), title, includeStack)));
+            } else {
+                writer.write(line);
+            }
+            writer.write(reader.getNormalizedLineTerminator());
+        }
+    }
 
+    /**
+     * Get inclusions of a given markdown file given by INCLUDE_CODE, INCLUDE_CODE_SEGMENT and INCLUDE_MD tags.
+     *
+     * @param markdownFile markdown file has inclusions
+     * @return inclusions in the order they appear in the markdown file
+     */
+    static List<Include> getIncludes(File markdownFile) {
+        List<Include> includes = new ArrayList<>();
+        String readMeParentPath = markdownFile.getParent();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(markdownFile),
+                StandardCharsets.UTF_8))) {
             String line;
             int lineNumber = 0;
-            String title = "";
-
+            DirectiveMatch<Include.Type> match = new DirectiveMatch<>();
             while ((line = reader.readLine()) != null) {
                 lineNumber++;
-                if (line.contains(INCLUDE_CODE_TAG)) {
-                    // Replace INCLUDE_CODE line with include code file.
-                    readMeFileContent = readMeFileContent.replace(line, getIncludeCodeFile(file, line));
-                } else if (line.contains(INCLUDE_CODE_SEGMENT_TAG)) {
-                    // Replace INCLUDE_CODE_SEGMENT line with include code segment.
-                    readMeFileContent = readMeFileContent.replace(line, getIncludeCodeSegment(file, line));
-                } else if (lineNumber == 1 && line.contains(HASH)) {
-                    // Adding front matter to posts.
-                    readMeFileContent = readMeFileContent.replace(line, getPostFrontMatter(line));
-                    title = line.replace(HASH, EMPTY_STRING).trim();
-                } else if (isImageAttachmentLine(line)) {
-                    readMeFileContent = readMeFileContent.replace(line, getWebsiteImageAttachment(line));
-                } else if (line.contains(INCLUDE_MD_TAG)) {
-                    readMeFileContent = readMeFileContent.replace(line, getIncludeMarkdownFile(file, line, title));
+                Include.Type directive = INCLUDE_DIRECTIVES.scan(line, match);
+                if (directive == Include.Type.INCLUDE_CODE) {
+                    includes.add(new Include(Include.Type.INCLUDE_CODE, new File(readMeParentPath
+                            + getIncludeFilePath(match.getArgument(COMMENT_END))), null, lineNumber));
+                } else if (directive == Include.Type.INCLUDE_CODE_SEGMENT) {
+                    String argument = match.getArgument(COMMENT_END);
+                    includes.add(new Include(Include.Type.INCLUDE_CODE_SEGMENT,
+                            new File(getIncludeCodeSegmentFilePath(readMeParentPath, argument)),
+                            getIncludeCodeSegmentName(argument), lineNumber));
+                } else if (directive == Include.Type.INCLUDE_MD && !(lineNumber == 1 && line.contains(HASH))
+                        && !isImageAttachmentLine(line)) {
+                    includes.add(new Include(Include.Type.INCLUDE_MD, new File(readMeParentPath
+                            + getIncludeFilePath(match.getArgument(COMMENT_END))), null, lineNumber));
                 }
             }
-            IOUtils.write(readMeFileContent, new FileOutputStream(file), String.valueOf(StandardCharsets.UTF_8));
         } catch (IOException e) {
-            throw new ServiceException("Could not find the README.md file: " + file.getPath(), e);
+            throw new ServiceException("Could not read the markdown file: " + markdownFile.getPath(), e);
         }
+        return includes;
     }
 
     /**
-     * Rename README.md file as parent_directory_name.md
+     * Get files included by a given markdown file. Files included by included markdown files are also returned.
      *
-     * @param file README.md file
+     * @param markdownFile markdown file has inclusions
+     * @return normalized paths of the included files in the order they are included
      */
-    private static void renameReadmeFile(File file) {
-        if (file.getName().equals(README_MD)) {
-            String mdFileName = file.getParent() + File.separator + "1.md";
-            // If directory name is "tempDirectory", not renaming the file.
-            if (!mdFileName.contains(TEMP_DIR_MD) && !file.renameTo(new File(mdFileName))) {
-                throw new ServiceException("Renaming README.md failed. file:" + file.getPath());
+    static List<File> getIncludedFiles(File markdownFile) {
+        Set<File> includedFiles = new LinkedHashSet<>();
+        addIncludedFiles(markdownFile, includedFiles);
+        return new ArrayList<>(includedFiles);
+    }
+
+    private static void addIncludedFiles(File markdownFile, Set<File> includedFiles) {
+        for (Include include : getIncludes(markdownFile)) {
+            File includedFile = include.getFile().toPath().normalize().toFile();
+            // A markdown file already added is not visited again, which also stops cyclic inclusions.
+            if (includedFiles.add(includedFile) && include.getType() == Include.Type.INCLUDE_MD
+                    && includedFile.isFile()) {
+                addIncludedFiles(includedFile, includedFiles);
             }
         }
     }
@@ -209,14 +747,16 @@ public class DocsGenerator {
      *
      * @param markdownFile markdown file has code inclusions
      * @param line         line having INCLUDE_CODE_TAG
+     * @param argument     argument of the INCLUDE_CODE_TAG
      * @return code content of the code file should be included
      */
-    private static String getIncludeCodeFile(File markdownFile, String line) {
+    private static String getIncludeCodeFile(File markdownFile, String line, String argument) {
+        long startTime = System.nanoTime();
         String readMeParentPath = markdownFile.getParent();
-        String fullPathOfIncludeCodeFile =
-                readMeParentPath + getIncludeFilePathFromIncludeCodeLine(line, INCLUDE_CODE_TAG);
+        String fullPathOfIncludeCodeFile = readMeParentPath + getIncludeFilePath(argument);
         File includeCodeFile = new File(fullPathOfIncludeCodeFile);
-        String code = removeLicenceHeader(getCodeFile(includeCodeFile, markdownFile), readMeParentPath).trim();
+        String code = INCLUDE_CACHE.get(includeCodeFile, markdownFile).getCode(readMeParentPath).trim();
+        BuildMetrics.recordInclude(includeCodeFile, System.nanoTime() - startTime);
         return handleCodeAlignment(line, getMarkdownCodeBlockWithCodeType(fullPathOfIncludeCodeFile, code));
     }
 
@@ -225,40 +765,52 @@ public class DocsGenerator {
      *
      * @param markdownFile markdown file has code inclusions
      * @param line         line having INCLUDE_CODE_SEGMENT_TAG
+     * @param argument     argument of the INCLUDE_CODE_SEGMENT_TAG
      * @return code segment content should be included
      */
-    private static String getIncludeCodeSegment(File markdownFile, String line) {
+    private static String getIncludeCodeSegment(File markdownFile, String line, String argument) {
+        long startTime = System.nanoTime();
         String readMeParentPath = markdownFile.getParent();
-        String includeLineData = line.replace(COMMENT_START, EMPTY_STRING).replace(COMMENT_END, EMPTY_STRING)
-                .replace(INCLUDE_CODE_SEGMENT_TAG, EMPTY_STRING).trim();
-
-        String[] tempDataArr = includeLineData.replace(OPEN_CURLY_BRACKET, EMPTY_STRING)
-                .replace(CLOSE_CURLY_BRACKET, EMPTY_STRING).split(COMMA);
-
-        String fullPathOfIncludeCodeFile =
-                readMeParentPath + File.separator + tempDataArr[0].replace("file:", EMPTY_STRING).trim();
-        String segment = tempDataArr[1].replace("segment:", EMPTY_STRING).trim();
+        String fullPathOfIncludeCodeFile = getIncludeCodeSegmentFilePath(readMeParentPath, argument);
+        String segment = getIncludeCodeSegmentName(argument);
 
         File includeCodeFile = new File(fullPathOfIncludeCodeFile);
-        String codeFileContent = removeLicenceHeader(getCodeFile(includeCodeFile, markdownFile), readMeParentPath);
-
-        String code = getCodeSegment(codeFileContent, segment).trim();
+        String code = INCLUDE_CACHE.get(includeCodeFile, markdownFile).getSegment(segment, readMeParentPath).trim();
+        BuildMetrics.recordInclude(includeCodeFile, System.nanoTime() - startTime);
         return handleCodeAlignment(line, getMarkdownCodeBlockWithCodeType(fullPathOfIncludeCodeFile, code));
     }
 
     /**
-     * Get code segment form code file content.
+     * Get `file` and `segment` data of a INCLUDE_CODE_SEGMENT_TAG argument.
      *
-     * @param codeFileContent code file content
-     * @param segmentName     segment name used in the code file (eg: segment_1)
-     * @return code segment as a string
+     * @param argument argument of the INCLUDE_CODE_SEGMENT_TAG
+     * @return array having `file: <path>` as the first element and `segment: <name>` as the second element
      */
-    private static String getCodeSegment(String codeFileContent, String segmentName) {
-        try {
-            return codeFileContent.split(CODE_SEGMENT_BEGIN + segmentName)[1].split(CODE_SEGMENT_END + segmentName)[0];
-        } catch (ArrayIndexOutOfBoundsException e) {
-            throw new ServiceException("Invalid code segment including. segmentName: " + segmentName);
-        }
+    private static String[] getIncludeCodeSegmentData(String argument) {
+        return argument.replace(OPEN_CURLY_BRACKET, EMPTY_STRING).replace(CLOSE_CURLY_BRACKET, EMPTY_STRING)
+                .split(COMMA);
+    }
+
+    /**
+     * Get full path of the code file mentioned in a INCLUDE_CODE_SEGMENT_TAG line.
+     *
+     * @param readMeParentPath README.md parent path
+     * @param argument         argument of the INCLUDE_CODE_SEGMENT_TAG
+     * @return full path of the code file
+     */
+    private static String getIncludeCodeSegmentFilePath(String readMeParentPath, String argument) {
+        return readMeParentPath + File.separator
+                + getIncludeCodeSegmentData(argument)[0].replace("file:", EMPTY_STRING).trim();
+    }
+
+    /**
+     * Get name of the code segment mentioned in a INCLUDE_CODE_SEGMENT_TAG argument.
+     *
+     * @param argument argument of the INCLUDE_CODE_SEGMENT_TAG
+     * @return name of the code segment
+     */
+    private static String getIncludeCodeSegmentName(String argument) {
+        return getIncludeCodeSegmentData(argument)[1].replace("segment:", EMPTY_STRING).trim();
     }
 
     /**
@@ -276,171 +828,102 @@ public class DocsGenerator {
     }
 
     /**
-     * get file path of the INCLUDE_TAG line.
+     * Get file path of an INCLUDE_CODE_TAG or INCLUDE_MD_TAG argument.
      *
-     * @param line line having INCLUDE_TAG
+     * @param argument argument of the tag
      * @return file path of the file should be included
      */
-    private static String getIncludeFilePathFromIncludeCodeLine(String line, String includeTag) {
-        return "/" + line.replace(COMMENT_START, EMPTY_STRING).replace(COMMENT_END, EMPTY_STRING)
-                .replace(includeTag, EMPTY_STRING).trim();
-    }
-
-    /**
-     * Delete unwanted files other than `md` files & `zip` files. Also delete `Module.md` files.
-     *
-     * @param directoryPath directory want to delete files
-     */
-    private static void deleteUnwantedFiles(String directoryPath, String docsDir) {
-        File folder = new File(directoryPath);
-        File[] listOfFiles = folder.listFiles();
-
-        if (listOfFiles != null) {
-            for (File file : listOfFiles) {
-                if (file.isFile()) {
-                    if (isUnwanted(file, docsDir)) {
-                        deleteFile(file);
-                    }
-                } else if (file.isDirectory()) {
-                    deleteUnwantedFiles(file.getPath(), docsDir);
-                }
-            }
-        }
+    private static String getIncludeFilePath(String argument) {
+        return "/" + argument;
     }
 
     /**
      * Check whether should be included in `mkdocs-content` folder.
-     * All md files other than Module.md files & all zip files are needed.
+     * All md files other than Module.md files, all zip files and files having the name of an image are needed.
      *
-     * @param file file
+     * @param file   file
+     * @param assets index of the images
      * @return is a unwanted file
      */
-    private static boolean isUnwanted(File file, String docsDir) {
+    static boolean isUnwanted(File file, AssetIndex assets) {
         boolean mdFile = FilenameUtils.getExtension(file.getName()).equals(MARKDOWN_FILE_EXT);
         boolean moduleMdFile = file.getName().equals("Module.md");
         boolean zipFile = FilenameUtils.getExtension(file.getName()).equals("zip");
-        boolean imgFile = new File(Paths.get(docsDir, "assets", "img").toString(), file.getName()).exists();
+        boolean imgFile = assets.isImage(file);
 
         return !((mdFile && !moduleMdFile) || zipFile || imgFile);
     }
 
     /**
-     * Delete empty directories.
+     * Add zip files of Ballerina projects inside given directory to the site. Zip files are streamed from the source
+     * project directories into the zip cache.
      *
-     * @param directoryPath directory want to delete empty directories
+     * @param docsDir  path of the source docs directory
+     * @param site     site to add zip files
+     * @param archiver archiver of Ballerina projects
+     * @param previous outputs of the previous build
+     * @param walker   directory walker
      */
-    private static void deleteEmptyDirs(String directoryPath) {
-        File folder = new File(directoryPath);
-        File[] listOfFiles = folder.listFiles();
-
-        if (listOfFiles != null) {
-            for (File file : listOfFiles) {
-                if (file.isDirectory()) {
-                    deleteEmptyDirsAndParentDirs(file);
-                    deleteEmptyDirs(file.getPath());
+    private static void zipBallerinaProjects(String docsDir, SiteTree site, ProjectArchiver archiver,
+                                             PreviousBuild previous, DirectoryWalker walker) {
+        walker.walk(new File(docsDir), file -> {
+            if (file.getName().equals(BALLERINA_TOML)) {
+                // Zip parent folder since this is a Ballerina project.
+                File projectDir = file.getParentFile();
+                String outputPath = getZipOutputPath(projectDir);
+                if (!previous.reuse(site, outputPath)) {
+                    Map<String, String> inputs = archiver.getInputs(projectDir);
+                    site.addFile(outputPath, archiver.getArchive(projectDir, inputs), inputs);
                 }
             }
-        }
+        });
     }
 
     /**
-     * Delete empty directories and check whether parent directory is empty. If it is empty delete parent directory and
-     * continue recursively.
+     * Check whether a code file has to be rewritten to ignore code segment comment lines. The content is scanned as
+     * bytes, so that a code file without CODE_SEGMENT comment lines, whose lines already end with `\n`, is used as it
+     * is without being decoded and written line by line.
      *
-     * @param file file should be deleted
+     * @param content content of the code file
+     * @return whether the code file has to be rewritten
      */
-    private static void deleteEmptyDirsAndParentDirs(File file) {
-        if (file != null && isDirEmpty(file)) {
-            try {
-                Files.delete(Paths.get(file.getPath()));
-                deleteEmptyDirsAndParentDirs(file.getParentFile());
-            } catch (IOException e) {
-                throw new ServiceException("Error occurred when deleting directory. file:" + file.getPath());
-            }
+    static boolean isCodeRewriteNeeded(byte[] content) {
+        // Every line is written with `\n`, so other line terminators are changed by the rewrite.
+        if (content.length > 0 && content[content.length - 1] != '\n') {
+            return true;
         }
-    }
-
-    /**
-     * Process files inside given directory.
-     *
-     * @param directoryPath path of the directory
-     */
-    private static void zipBallerinaProjects(String directoryPath, String tempDir) {
-        File folder = new File(directoryPath);
-        File[] listOfFiles = folder.listFiles();
-
-        if (listOfFiles != null) {
-            for (File file : listOfFiles) {
-                if (file.isFile() && (file.getName().equals(BALLERINA_TOML))) {
-                    // Zip parent folder since this is a Ballerina project.
-
-                    // Removing unnecessary md files
-                    File mdFile = new File(directoryPath + "/1.md");
-                    mdFile.delete();
-
-                    try {
-                        new ZipFile(getZipFileName(tempDir, file))
-                                .addFolder(new File(file.getParentFile().getPath()));
-                    } catch (ZipException e) {
-                        throw new ServiceException("Error when zipping the directory: "
-                                + file.getParentFile().getPath(), e);
-                    }
-                } else if (file.isDirectory()) {
-                    zipBallerinaProjects(file.getPath(), tempDir);
-                }
+        for (byte b : content) {
+            if (b == '\r') {
+                return true;
             }
         }
+        return CodeFile.SEGMENT_MARKERS.scan(content) != null;
     }
 
     /**
-     * Process a given code file by removing `CODE-SEGMENT` tags.
+     * Ignore code segment comment lines. Lines are written with `\n` line endings on every platform.
      *
-     * @param file code file
-     * @return processing result
+     * @param file    code file
+     * @param content content of the code file
+     * @param writer  writer to keep code content without CODE_SEGMENT comment line.
      */
-    private static boolean processCodeFile(File file, String tempDir) {
-        File tempFile = new File(tempDir + File.separator + "temp.txt");
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile))) {
-            ignoreCodeSegmentLine(file, writer);
-        } catch (IOException e) {
-            throw new ServiceException("Could not find the writer temp file: " + tempFile.getPath(), e);
-        }
-        return tempFile.renameTo(file);
-    }
-
-    /**
-     * Ignore code segment comment lines.
-     *
-     * @param file   code file
-     * @param writer temp file to keep code content without CODE_SEGMENT comment line.
-     */
-    private static void ignoreCodeSegmentLine(File file, BufferedWriter writer) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+    static void ignoreCodeSegmentLine(File file, byte[] content, BufferedWriter writer) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content),
+                StandardCharsets.UTF_8))) {
             String line;
 
             while ((line = reader.readLine()) != null) {
-                if (line.contains(CODE_SEGMENT_BEGIN) || line.contains(CODE_SEGMENT_END)) {
+                if (CodeFile.SEGMENT_MARKERS.scan(line) != null) {
                     // Ignore CODE_SEGMENT line.
                     continue;
                 }
-                writer.write(line + System.getProperty("line.separator"));
+                writer.write(line + NEW_LINE);
             }
         } catch (IOException e) {
-            throw new ServiceException("Could not find the README.md file: " + file.getPath(), e);
+            throw new ServiceException("Could not process the code file: " + file.getPath(), e);
         }
     }
 
-    /**
-     * Create `target/www` website directory.
-     */
-    private static void createWebsiteDirectory(String srcWwwDirPath, String websiteDir, String mkdocsContent) {
-        // Copy `www` directory inside `target` directory.
-        copyDirectoryContent(srcWwwDirPath, websiteDir);
-        // Copy `target/mkdocs-content` directory content to `target/www/docs`.
-        copyDirectoryContent(mkdocsContent, websiteDir + File.separator + "docs");
-    }
-
     /**
      * Since GitHub repo Image attachment Url is not working in the website, `../` should be added to the image Url.
      *
@@ -452,18 +935,52 @@ public class DocsGenerator {
         return line.replace(imageUrl, "../" + imageUrl);
     }
 
+    /**
+     * Change all image attachment lines of a given markdown content to work in the website.
+     *
+     * @param markdownContent markdown content
+     * @return markdown content with image attachment lines for website
+     */
+    private static String getWebsiteImageAttachments(String markdownContent) {
+        String[] lines = markdownContent.split(NEW_LINE, -1);
+        for (int i = 0; i < lines.length; i++) {
+            if (isImageAttachmentLine(lines[i])) {
+                lines[i] = getWebsiteImageAttachment(lines[i]);
+            }
+        }
+        return String.join(NEW_LINE, lines);
+    }
+
     /**
      * Get markdown file content should be included in the markdown file.
      *
      * @param markdownFile markdown file has file inclusions
-     * @param line         line having INCLUDE_MD_TAG
+     * @param argument     argument of the INCLUDE_MD_TAG
+     * @param title        title of the page
+     * @param includeStack markdown files being included, the innermost one at the top
      * @return content of the markdown file should be included
      */
-    private static String getIncludeMarkdownFile(File markdownFile, String line, String title) {
+    private static String getIncludeMarkdownFile(File markdownFile, String argument, String title,
+                                                 Deque<File> includeStack) {
+        long startTime = System.nanoTime();
         String readMeParentPath = markdownFile.getParent();
-        String fullPathOfIncludeMdFile = readMeParentPath + getIncludeFilePathFromIncludeCodeLine(line, INCLUDE_MD_TAG);
+        String fullPathOfIncludeMdFile = readMeParentPath + getIncludeFilePath(argument);
         File includeMdFile = new File(fullPathOfIncludeMdFile);
-        String includeMdContent = getCodeFile(includeMdFile, markdownFile).trim();
+        File normalizedIncludeMdFile = includeMdFile.toPath().normalize().toFile();
+        if (includeStack.contains(normalizedIncludeMdFile)) {
+            List<File> cycle = new ArrayList<>(includeStack);
+            Collections.reverse(cycle);
+            cycle.add(normalizedIncludeMdFile);
+            throw new ServiceException("Cyclic INCLUDE_MD inclusion: " + cycle.stream().map(File::getPath)
+                    .collect(Collectors.joining(" -> ")));
+        }
+        includeStack.push(normalizedIncludeMdFile);
+        String content = resolveIncludes(includeMdFile,
+                INCLUDE_CACHE.get(includeMdFile, markdownFile).getContent(), title, includeStack);
+        includeStack.pop();
+        // Image attachments of the included markdown file are relative to the page including it.
+        String includeMdContent = getWebsiteImageAttachments(content.trim());
+        BuildMetrics.recordInclude(includeMdFile, System.nanoTime() - startTime);
         // Check fullPathOfIncludeMdFile is `get-the-code.md`.
         if (fullPathOfIncludeMdFile.contains("tutorial-get-the-code.md")) {
             String markdownWithZipName = setZipFileName(includeMdContent, readMeParentPath);
@@ -475,6 +992,40 @@ public class DocsGenerator {
         }
     }
 
+    /**
+     * Resolve INCLUDE_CODE, INCLUDE_CODE_SEGMENT and INCLUDE_MD tags of an included markdown file. Inclusions are
+     * resolved relative to the included markdown file.
+     *
+     * @param markdownFile included markdown file
+     * @param content      content of the included markdown file
+     * @param title        title of the page
+     * @param includeStack markdown files being included, the innermost one at the top
+     * @return content after resolving inclusions
+     */
+    private static String resolveIncludes(File markdownFile, String content, String title, Deque<File> includeStack) {
+        if (DIRECTIVES.scan(content) == null) {
+            return content;
+        }
+        StringBuilder resolvedContent = new StringBuilder(content.length());
+        DirectiveMatch<DirectiveHandler> match = new DirectiveMatch<>();
+        try (LineReader reader = new LineReader(new StringReader(content))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                DirectiveHandler handler = DIRECTIVES.scan(line, match);
+                if (handler != null) {
+                    resolvedContent.append(DIRECTIVES.handle(handler, new DirectiveContext(markdownFile, line,
+                            match.getArgument(COMMENT_END), title, includeStack)));
+                } else {
+                    resolvedContent.append(line);
+                }
+                resolvedContent.append(reader.getNormalizedLineTerminator());
+            }
+        } catch (IOException e) {
+            throw new ServiceException("Could not read the markdown file: " + markdownFile.getPath(), e);
+        }
+        return resolvedContent.toString();
+    }
+
     /**
      * Set zip file name by replacing `<<<MD_FILE_NAME>>>` with zip file name.
      *
@@ -546,7 +1097,7 @@ public class DocsGenerator {
      * @param readMeParentPath README.md parent path
      * @return module name
      */
-    private static String findModuleName(String readMeParentPath) {
+    static String findModuleName(String readMeParentPath) {
         boolean moduleFound = false;
         String moduleName = "";
         File moduleParent = new File(readMeParentPath + File.separator + "src");
@@ -570,4 +1121,69 @@ public class DocsGenerator {
         }
         return moduleName;
     }
+
+    /**
+     * Handler of INCLUDE_CODE directives, which are replaced with the code of a code file.
+     */
+    private static class IncludeCodeHandler implements DirectiveHandler {
+
+        @Override
+        public String getTag() {
+            return INCLUDE_CODE_TAG;
+        }
+
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
+        @Override
+        public String handle(DirectiveContext context) {
+            return getIncludeCodeFile(context.getMarkdownFile(), context.getLine(), context.getArgument());
+        }
+    }
+
+    /**
+     * Handler of INCLUDE_CODE_SEGMENT directives, which are replaced with a code segment of a code file.
+     */
+    private static class IncludeCodeSegmentHandler implements DirectiveHandler {
+
+        @Override
+        public String getTag() {
+            return INCLUDE_CODE_SEGMENT_TAG;
+        }
+
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
+        @Override
+        public String handle(DirectiveContext context) {
+            return getIncludeCodeSegment(context.getMarkdownFile(), context.getLine(), context.getArgument());
+        }
+    }
+
+    /**
+     * Handler of INCLUDE_MD directives, which are replaced with the content of a markdown file. The content depends
+     * on the page including it, so the handler is not pure.
+     */
+    private static class IncludeMarkdownHandler implements DirectiveHandler {
+
+        @Override
+        public String getTag() {
+            return INCLUDE_MD_TAG;
+        }
+
+        @Override
+        public boolean isPure() {
+            return false;
+        }
+
+        @Override
+        public String handle(DirectiveContext context) {
+            return getIncludeMarkdownFile(context.getMarkdownFile(), context.getArgument(), context.getTitle(),
+                    context.getIncludeStack());
+        }
+    }
 }
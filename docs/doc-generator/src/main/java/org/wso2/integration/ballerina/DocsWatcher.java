@@ -0,0 +1,326 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.integration.ballerina.incremental.BuildManifest;
+import org.wso2.integration.ballerina.utils.DirectoryWalker;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.Paths;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.wso2.integration.ballerina.Constants.BALLERINA_TOML;
+import static org.wso2.integration.ballerina.Constants.BUILD_MANIFEST_JSON;
+import static org.wso2.integration.ballerina.Constants.README_MD;
+import static org.wso2.integration.ballerina.utils.Utils.copyFile;
+import static org.wso2.integration.ballerina.utils.Utils.deleteDirectory;
+import static org.wso2.integration.ballerina.utils.Utils.deleteIfExists;
+import static org.wso2.integration.ballerina.utils.Utils.getRelativePath;
+import static org.wso2.integration.ballerina.utils.Utils.listSortedFiles;
+
+/**
+ * Watches the docs directory and regenerates the pages, assets and project zip files affected by each change. Events
+ * are collected until no event arrives for a short period, so that a save touching several files triggers a single
+ * rebuild. The website directory is served while watching.
+ */
+public class DocsWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(DocsWatcher.class);
+    private static final long DEBOUNCE_MILLIS = 100;
+
+    private final File docsDir;
+    private final String targetDir;
+    private final File mkdocsContent;
+    private final File websiteDir;
+    private final File websiteDocsDir;
+    private final File manifestFile;
+    private final boolean hardLinks;
+    private final int threads;
+    private final BuildCache cache;
+    private final ProjectArchiver archiver;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+    DocsWatcher(String docsDir, String targetDir, BuildCache cache, boolean hardLinks, int threads) {
+        this.docsDir = new File(docsDir);
+        this.targetDir = targetDir;
+        this.mkdocsContent = Paths.get(targetDir, "mkdocs-content").toFile();
+        this.websiteDir = Paths.get(targetDir, "www").toFile();
+        this.websiteDocsDir = new File(websiteDir, "docs");
+        this.manifestFile = Paths.get(targetDir, BUILD_MANIFEST_JSON).toFile();
+        this.hardLinks = hardLinks;
+        this.threads = threads;
+        this.cache = cache;
+        this.archiver = new ProjectArchiver(this.docsDir, cache, hardLinks);
+    }
+
+    /**
+     * Generate the website content and keep it up to date until the process is stopped.
+     *
+     * @param port port to serve the website directory
+     */
+    void watch(int port) {
+        buildIncrementally();
+        cache.evict();
+        WebsiteServer server = new WebsiteServer(websiteDir, port);
+        server.start();
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            registerDirectories(docsDir, watchService);
+            logger.info("Watching {} for changes...", docsDir.getPath());
+            while (true) {
+                Set<File> changedFiles = new TreeSet<>();
+                boolean overflow = collectChanges(watchService.take(), changedFiles, watchService);
+                WatchKey key;
+                // Wait until changes settle down.
+                while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= collectChanges(key, changedFiles, watchService);
+                }
+                rebuild(changedFiles, overflow);
+            }
+        } catch (IOException e) {
+            throw new ServiceException("Error occurred when watching the directory: " + docsDir.getPath(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.info("Stopped watching {}", docsDir.getPath());
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Build the site and write the files changed since the previous build, the same way as an incremental build.
+     */
+    private void buildIncrementally() {
+        SiteWriter siteWriter = new SiteWriter(targetDir, hardLinks);
+        BuildManifest previous = siteWriter.loadManifest();
+        try (DirectoryWalker walker = new DirectoryWalker(threads)) {
+            SiteTree site = DocsGenerator.buildSite(docsDir.getPath(), cache, archiver, AssetIndex.build(docsDir),
+                    new PreviousBuild(docsDir, siteWriter.getMkdocsContent(), previous, DocsGenerator.INPUT_HASHES),
+                    walker);
+            siteWriter.write(site, previous, walker);
+        }
+    }
+
+    /**
+     * Register a directory and its sub directories with the watch service.
+     *
+     * @param directory    directory
+     * @param watchService watch service
+     * @throws IOException if a directory cannot be registered
+     */
+    private void registerDirectories(File directory, WatchService watchService) throws IOException {
+        Path path = directory.toPath();
+        watchedDirectories.put(path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), path);
+        for (File file : listSortedFiles(directory)) {
+            if (file.isDirectory() && !file.getName().equals("doc-generator")) {
+                registerDirectories(file, watchService);
+            }
+        }
+    }
+
+    /**
+     * Collect files changed according to the events of a watch key. New directories are registered and their files
+     * are considered changed.
+     *
+     * @param key          signalled watch key
+     * @param changedFiles changed files
+     * @param watchService watch service
+     * @return whether events have been lost
+     * @throws IOException if a new directory cannot be registered
+     */
+    private boolean collectChanges(WatchKey key, Set<File> changedFiles, WatchService watchService)
+            throws IOException {
+        boolean overflow = false;
+        Path directory = watchedDirectories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || directory == null) {
+                overflow = true;
+                continue;
+            }
+            File file = directory.resolve((Path) event.context()).toFile();
+            if (event.kind() == ENTRY_CREATE && file.isDirectory()) {
+                registerDirectories(file, watchService);
+                addFiles(file, changedFiles);
+            }
+            changedFiles.add(file);
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+        return overflow;
+    }
+
+    private static void addFiles(File directory, Set<File> files) {
+        for (File file : listSortedFiles(directory)) {
+            if (file.isDirectory()) {
+                addFiles(file, files);
+            } else {
+                files.add(file);
+            }
+        }
+    }
+
+    /**
+     * Regenerate the outputs affected by changed files. Errors are logged, so that watching continues after a
+     * broken edit.
+     *
+     * @param changedFiles changed files
+     * @param overflow     whether events have been lost, in which case all the outputs are checked
+     */
+    private void rebuild(Set<File> changedFiles, boolean overflow) {
+        long startTime = System.nanoTime();
+        // Outputs of pure directives and hashes of the inputs may depend on the changed files.
+        DocsGenerator.DIRECTIVES.clearOutputs();
+        DocsGenerator.INPUT_HASHES.clear();
+        try {
+            if (overflow) {
+                buildIncrementally();
+            } else {
+                // Outputs are updated without the manifest, so the next incremental build starts from scratch.
+                deleteIfExists(manifestFile);
+                rebuildAffectedOutputs(changedFiles);
+            }
+            // Delete the least recently used cache entries, since each rebuild may add entries.
+            cache.evict();
+            logger.info("Rebuilt {} changed file(s) in {} ms", changedFiles.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        } catch (ServiceException e) {
+            logger.error("Rebuilding failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void rebuildAffectedOutputs(Set<File> changedFiles) {
+        IncludeGraph includeGraph = IncludeGraph.build(docsDir);
+        includeGraph.validate();
+        // Images may have been added or removed, so the index is built for each rebuild.
+        AssetIndex assets = AssetIndex.build(docsDir);
+
+        Set<String> pages = new TreeSet<>();
+        Set<File> projects = new TreeSet<>();
+        for (File file : changedFiles) {
+            String relativePath = getRelativePath(docsDir, file);
+            pages.addAll(includeGraph.getAffectedPages(relativePath));
+            // Module names of a page are resolved using the directory names inside the `src` directory next to it.
+            File parent = file.getParentFile();
+            if (parent != null && parent.getName().equals("src")) {
+                File readme = new File(parent.getParentFile(), README_MD);
+                if (readme.isFile()) {
+                    pages.add(getRelativePath(docsDir, readme));
+                }
+            }
+            addProject(file, projects);
+            if (!file.exists()) {
+                removeOutputs(relativePath);
+                // A directory without Ballerina.toml is no longer a Ballerina project, so its zip file is removed.
+                if (file.getName().equals(BALLERINA_TOML)) {
+                    String zipPath = SiteTree.getZipOutputPath(file.getParentFile());
+                    removeOutput(new File(mkdocsContent, zipPath), mkdocsContent);
+                    removeOutput(new File(websiteDocsDir, zipPath), websiteDocsDir);
+                }
+            } else if (file.isFile() && !DocsGenerator.isPage(file)
+                    && !DocsGenerator.isUnwanted(file, assets)) {
+                updateOutput(file, relativePath);
+            }
+        }
+        for (String page : pages) {
+            File source = new File(docsDir, page);
+            if (source.isFile()) {
+                File outputFile = new File(mkdocsContent, SiteTree.getPageOutputPath(page));
+                SiteWriter.createParentDirectory(outputFile);
+                DocsGenerator.processReadmeFile(source, outputFile);
+                publish(outputFile);
+            }
+            addProject(source, projects);
+        }
+        for (File projectDir : projects) {
+            File outputFile = new File(mkdocsContent, SiteTree.getZipOutputPath(projectDir));
+            SiteWriter.createParentDirectory(outputFile);
+            archiver.archive(projectDir, outputFile);
+            publish(outputFile);
+        }
+        logger.info("Regenerated pages: {}", pages);
+    }
+
+    /**
+     * Add the Ballerina project having a given file, if there is any.
+     *
+     * @param file     file
+     * @param projects Ballerina project directories
+     */
+    private void addProject(File file, Set<File> projects) {
+        File directory = file.getParentFile();
+        while (directory != null && !directory.equals(docsDir)) {
+            if (new File(directory, BALLERINA_TOML).isFile()) {
+                projects.add(directory);
+                return;
+            }
+            directory = directory.getParentFile();
+        }
+    }
+
+    private void updateOutput(File file, String relativePath) {
+        File outputFile = new File(mkdocsContent, relativePath);
+        SiteWriter.createParentDirectory(outputFile);
+        copyFile(file, outputFile, hardLinks);
+        publish(outputFile);
+    }
+
+    /**
+     * Remove the outputs of a deleted file or directory.
+     *
+     * @param relativePath path of the deleted file relative to the docs directory
+     */
+    private void removeOutputs(String relativePath) {
+        for (String outputPath : new String[] {relativePath, SiteTree.getPageOutputPath(relativePath)}) {
+            removeOutput(new File(mkdocsContent, outputPath), mkdocsContent);
+            removeOutput(new File(websiteDocsDir, outputPath), websiteDocsDir);
+        }
+    }
+
+    private static void removeOutput(File output, File directory) {
+        if (output.isDirectory()) {
+            deleteDirectory(output.getPath());
+        }
+        SiteWriter.removeOutput(output, directory);
+    }
+
+    /**
+     * Copy an output from the mkdocs content directory to the website directory.
+     *
+     * @param outputFile output inside the mkdocs content directory
+     */
+    private void publish(File outputFile) {
+        copyFile(outputFile, new File(websiteDocsDir, getRelativePath(mkdocsContent, outputFile)), hardLinks);
+    }
+}
@@ -0,0 +1,478 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.wso2.integration.ballerina.include.CodeFile;
+import org.wso2.integration.ballerina.include.Include;
+import org.wso2.integration.ballerina.utils.DirectoryWalker;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.wso2.integration.ballerina.utils.Utils.getRelativePath;
+import static org.wso2.integration.ballerina.utils.Utils.listSortedFiles;
+
+/**
+ * Dependency graph of the docs content. Pages depend on the markdown files, code files and code segments they
+ * include, and code segments depend on the code files they belong to. Nodes are identified by paths relative to the
+ * docs directory, code segments by `path#segment`. The graph is built from the inclusion tags only, without reading
+ * included files, so broken and cyclic inclusions are found before the content is processed. Included code files are
+ * read only when the graph is validated.
+ */
+public class IncludeGraph {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final String SEGMENT_SEPARATOR = "#";
+
+    private final transient File docsDir;
+    private final Map<String, Node> nodes = new TreeMap<>();
+    private final List<Edge> edges = new ArrayList<>();
+    private final transient Map<String, Set<String>> dependencies = new HashMap<>();
+    private final transient Map<String, Set<String>> dependents = new HashMap<>();
+    private final transient Map<File, List<Include>> parsedPages = new ConcurrentHashMap<>();
+
+    private IncludeGraph(File docsDir) {
+        this.docsDir = docsDir;
+    }
+
+    /**
+     * Build the dependency graph of all the pages inside a docs directory.
+     *
+     * @param docsDir docs directory
+     * @return dependency graph
+     */
+    static IncludeGraph build(File docsDir) {
+        try (DirectoryWalker walker = new DirectoryWalker(1)) {
+            return build(docsDir, walker);
+        }
+    }
+
+    /**
+     * Build the dependency graph of all the pages inside a docs directory. Inclusion tags of the pages are parsed
+     * concurrently by the given walker and added to the graph in a sorted order, so the graph does not depend on the
+     * number of threads.
+     *
+     * @param docsDir docs directory
+     * @param walker  directory walker used to parse the pages
+     * @return dependency graph
+     */
+    static IncludeGraph build(File docsDir, DirectoryWalker walker) {
+        IncludeGraph graph = new IncludeGraph(docsDir);
+        if (walker.getParallelism() > 1) {
+            walker.walk(docsDir, new DirectoryWalker.Visitor() {
+                @Override
+                public void visitFile(File file) {
+                    if (DocsGenerator.isPage(file)) {
+                        graph.parsedPages.put(file, DocsGenerator.getIncludes(file));
+                    }
+                }
+
+                @Override
+                public boolean acceptDirectory(File directory) {
+                    return !directory.getName().equals("doc-generator");
+                }
+            });
+        }
+        graph.addPages(docsDir);
+        graph.parsedPages.clear();
+        return graph;
+    }
+
+    private void addPages(File directory) {
+        for (File file : listSortedFiles(directory)) {
+            if (file.isDirectory()) {
+                if (!file.getName().equals("doc-generator")) {
+                    addPages(file);
+                }
+            } else if (DocsGenerator.isPage(file)) {
+                addMarkdownFile(file, NodeType.PAGE);
+            }
+        }
+    }
+
+    /**
+     * Add a markdown file and its inclusions. Included markdown files are added recursively.
+     *
+     * @param markdownFile markdown file
+     * @param type         type of the markdown file node
+     */
+    private void addMarkdownFile(File markdownFile, NodeType type) {
+        String id = getId(markdownFile);
+        Node node = nodes.get(id);
+        if (node != null) {
+            // A page is also recorded as a page if it was first added as an included markdown file.
+            if (type == NodeType.PAGE) {
+                node.type = NodeType.PAGE;
+            }
+            if (node.parsed) {
+                return;
+            }
+        } else {
+            node = addNode(id, type, true);
+        }
+        node.parsed = true;
+
+        List<Include> includes = parsedPages.get(markdownFile);
+        for (Include include : includes != null ? includes : DocsGenerator.getIncludes(markdownFile)) {
+            File includedFile = include.getFile().toPath().normalize().toFile();
+            String includedId = getId(includedFile);
+            switch (include.getType()) {
+            case INCLUDE_MD:
+                if (includedFile.isFile()) {
+                    addMarkdownFile(includedFile, DocsGenerator.isPage(includedFile) ? NodeType.PAGE
+                            : NodeType.MARKDOWN);
+                } else {
+                    addNode(includedId, NodeType.MARKDOWN, false);
+                }
+                break;
+            case INCLUDE_CODE_SEGMENT:
+                addNode(includedId, NodeType.CODE, includedFile.isFile());
+                String segmentId = includedId + SEGMENT_SEPARATOR + include.getSegment();
+                addNode(segmentId, NodeType.SEGMENT, includedFile.isFile());
+                addEdge(segmentId, includedId, EdgeType.SEGMENT_OF, 0);
+                includedId = segmentId;
+                break;
+            default:
+                addNode(includedId, NodeType.CODE, includedFile.isFile());
+                break;
+            }
+            addEdge(id, includedId, EdgeType.valueOf(include.getType().name()), include.getLineNumber());
+        }
+    }
+
+    private Node addNode(String id, NodeType type, boolean exists) {
+        return nodes.computeIfAbsent(id, key -> new Node(type, exists));
+    }
+
+    private void addEdge(String from, String to, EdgeType type, int line) {
+        if (dependencies.computeIfAbsent(from, key -> new TreeSet<>()).add(to)) {
+            dependents.computeIfAbsent(to, key -> new TreeSet<>()).add(from);
+            edges.add(new Edge(from, to, type, line));
+        }
+    }
+
+    private String getId(File file) {
+        return getRelativePath(docsDir, file);
+    }
+
+    /**
+     * Get the files, markdown files and code segments a given node depends on, directly or through other nodes.
+     *
+     * @param path path of the node relative to the docs directory
+     * @return dependencies of the node
+     */
+    Set<String> getDependencies(String path) {
+        return traverse(normalize(path), dependencies);
+    }
+
+    /**
+     * Get the pages which must be rebuilt if a given file changes. The file itself is returned if it is a page.
+     *
+     * @param path path of the file relative to the docs directory
+     * @return pages depending on the file
+     */
+    Set<String> getAffectedPages(String path) {
+        String id = normalize(path);
+        Set<String> affectedPages = new TreeSet<>();
+        Set<String> affectedNodes = traverse(id, dependents);
+        affectedNodes.add(id);
+        for (String affectedNode : affectedNodes) {
+            Node node = nodes.get(affectedNode);
+            if (node != null && node.type == NodeType.PAGE) {
+                affectedPages.add(affectedNode);
+            }
+        }
+        return affectedPages;
+    }
+
+    /**
+     * Get the pages which are included by other markdown files as well.
+     *
+     * @return paths of the included pages relative to the docs directory
+     */
+    Set<String> getIncludedPages() {
+        Set<String> includedPages = new TreeSet<>();
+        for (Edge edge : edges) {
+            Node node = nodes.get(edge.to);
+            if (edge.type == EdgeType.INCLUDE_MD && node != null && node.type == NodeType.PAGE) {
+                includedPages.add(edge.to);
+            }
+        }
+        return includedPages;
+    }
+
+    private static Set<String> traverse(String id, Map<String, Set<String>> adjacency) {
+        Set<String> visited = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.push(id);
+        while (!pending.isEmpty()) {
+            for (String next : adjacency.getOrDefault(pending.pop(), Collections.emptySet())) {
+                if (visited.add(next)) {
+                    pending.push(next);
+                }
+            }
+        }
+        visited.remove(id);
+        return visited;
+    }
+
+    private String normalize(String path) {
+        return getId(new File(docsDir, path).toPath().normalize().toFile());
+    }
+
+    /**
+     * Find a cyclic inclusion of markdown files.
+     *
+     * @return nodes of the cycle starting and ending with the same node, an empty list if there is no cycle
+     */
+    List<String> findCycle() {
+        Set<String> visited = new TreeSet<>();
+        for (String id : nodes.keySet()) {
+            Deque<String> path = new ArrayDeque<>();
+            List<String> cycle = findCycle(id, visited, path);
+            if (!cycle.isEmpty()) {
+                return cycle;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private List<String> findCycle(String id, Set<String> visited, Deque<String> path) {
+        if (path.contains(id)) {
+            List<String> cycle = new ArrayList<>();
+            for (String node : path) {
+                cycle.add(0, node);
+                if (node.equals(id)) {
+                    break;
+                }
+            }
+            cycle.add(id);
+            return cycle;
+        }
+        if (!visited.add(id)) {
+            return Collections.emptyList();
+        }
+        path.push(id);
+        for (String next : dependencies.getOrDefault(id, Collections.emptySet())) {
+            List<String> cycle = findCycle(next, visited, path);
+            if (!cycle.isEmpty()) {
+                return cycle;
+            }
+        }
+        path.pop();
+        return Collections.emptyList();
+    }
+
+    /**
+     * Get all the errors which would fail processing the content: cyclic inclusions, inclusions of files which do not
+     * exist, included code files without a licence header in the correct format, included code segments which do not
+     * exist and inclusions of `tutorial-get-the-code.md` in projects without a single module. Included code files are
+     * read concurrently through the include cache, so the content processed afterwards reuses them.
+     *
+     * @param walker directory walker used to check the inclusions
+     * @return errors as `path:line: message`, in the order of the inclusions
+     */
+    List<String> getErrors(DirectoryWalker walker) {
+        List<String> errors = new ArrayList<>();
+        List<String> cycle = findCycle();
+        if (!cycle.isEmpty()) {
+            errors.add(getLocation(getEdge(cycle.get(0), cycle.get(1))) + "Cyclic INCLUDE_MD inclusion: "
+                    + String.join(" -> ", cycle));
+        }
+        Map<Edge, String> edgeErrors = new ConcurrentHashMap<>();
+        walker.forEach(edges, edge -> {
+            String error = getError(edge);
+            if (error != null) {
+                edgeErrors.put(edge, getLocation(edge) + error);
+            }
+        });
+        for (Edge edge : edges) {
+            if (edgeErrors.containsKey(edge)) {
+                errors.add(edgeErrors.get(edge));
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Check an inclusion.
+     *
+     * @param edge inclusion edge
+     * @return error message or null if the inclusion is valid
+     */
+    private String getError(Edge edge) {
+        if (edge.type == EdgeType.SEGMENT_OF) {
+            return null;
+        }
+        if (!nodes.get(edge.to).exists) {
+            return "Included file does not exist: " + edge.to;
+        }
+        File markdownFile = new File(docsDir, edge.from);
+        try {
+            switch (edge.type) {
+            case INCLUDE_CODE:
+                return getCodeError(markdownFile, edge.to, null);
+            case INCLUDE_CODE_SEGMENT:
+                int separator = edge.to.lastIndexOf(SEGMENT_SEPARATOR);
+                return getCodeError(markdownFile, edge.to.substring(0, separator),
+                        edge.to.substring(separator + 1));
+            default:
+                if (edge.to.endsWith("tutorial-get-the-code.md")
+                        && DocsGenerator.findModuleName(markdownFile.getParent()).isEmpty()) {
+                    return "Module name not found. projectPath: " + markdownFile.getParent();
+                }
+                return null;
+            }
+        } catch (ServiceException e) {
+            return e.getMessage();
+        }
+    }
+
+    private String getCodeError(File markdownFile, String codeFileId, String segment) {
+        CodeFile codeFile = DocsGenerator.INCLUDE_CACHE.get(new File(docsDir, codeFileId), markdownFile);
+        if (!codeFile.hasLicenceHeader()) {
+            return "Licence header is not in the correct format: " + codeFileId;
+        }
+        if (segment != null && !codeFile.hasSegment(segment)) {
+            return "Included code segment does not exist: " + codeFileId + SEGMENT_SEPARATOR + segment;
+        }
+        return null;
+    }
+
+    private Edge getEdge(String from, String to) {
+        for (Edge edge : edges) {
+            if (edge.from.equals(from) && edge.to.equals(to)) {
+                return edge;
+            }
+        }
+        throw new ServiceException("Edge not found: " + from + " -> " + to);
+    }
+
+    private static String getLocation(Edge edge) {
+        return edge.from + ":" + edge.line + ": ";
+    }
+
+    /**
+     * Validate that there are no cyclic or broken inclusions. All the errors are reported together.
+     */
+    void validate() {
+        try (DirectoryWalker walker = new DirectoryWalker(1)) {
+            validate(walker);
+        }
+    }
+
+    /**
+     * Validate that there are no cyclic or broken inclusions, checking the inclusions concurrently. All the errors are
+     * reported together.
+     *
+     * @param walker directory walker used to check the inclusions
+     */
+    void validate(DirectoryWalker walker) {
+        List<String> errors = getErrors(walker);
+        if (!errors.isEmpty()) {
+            throw new ServiceException("Found " + errors.size() + " error(s) in the docs:\n\t"
+                    + String.join("\n\t", errors));
+        }
+    }
+
+    /**
+     * Write the graph to a JSON file.
+     *
+     * @param file JSON file
+     */
+    void save(File file) {
+        try {
+            Files.createDirectories(file.toPath().getParent());
+        } catch (IOException e) {
+            throw new ServiceException("Error occurred when creating directory: " + file.getParent(), e);
+        }
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            GSON.toJson(this, writer);
+        } catch (IOException e) {
+            throw new ServiceException("Error occurred when writing the include graph: " + file.getPath(), e);
+        }
+    }
+
+    /**
+     * Types of nodes.
+     */
+    enum NodeType {
+        PAGE,
+        MARKDOWN,
+        CODE,
+        SEGMENT
+    }
+
+    /**
+     * Types of edges. Edges other than SEGMENT_OF are named after the inclusion tags.
+     */
+    enum EdgeType {
+        INCLUDE_CODE,
+        INCLUDE_CODE_SEGMENT,
+        INCLUDE_MD,
+        SEGMENT_OF
+    }
+
+    /**
+     * Node of the graph.
+     */
+    private static class Node {
+        private NodeType type;
+        private final boolean exists;
+        private transient boolean parsed;
+
+        Node(NodeType type, boolean exists) {
+            this.type = type;
+            this.exists = exists;
+        }
+    }
+
+    /**
+     * Edge from a node to a node it depends on.
+     */
+    private static class Edge {
+        private final String from;
+        private final String to;
+        private final EdgeType type;
+        private final int line;
+
+        Edge(String from, String to, EdgeType type, int line) {
+            this.from = from;
+            this.to = to;
+            this.type = type;
+            this.line = line;
+        }
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.wso2.integration.ballerina.utils.DirectoryWalker;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.wso2.integration.ballerina.Constants.MARKDOWN_FILE_EXT;
+import static org.wso2.integration.ballerina.utils.Utils.getRelativePath;
+import static org.wso2.integration.ballerina.utils.Utils.listSortedFiles;
+
+/**
+ * Checks links of the generated pages against the in-memory site, so dangling links are found without building the
+ * website with mkdocs and without any network access. Pages are parsed and their links are resolved concurrently.
+ * <p>
+ * A relative link is valid if it resolves either to a file of the site relative to the directory of the page, which
+ * mkdocs rewrites to the URL of the file, or to a file or a page of the site relative to the URL of the page, which
+ * is the directory `a/b/` for the page `a/b.md`. Fragments of links to pages of the site have to match an anchor of
+ * the page, which is either the id mkdocs gives to a heading or an explicit `id` or `name` attribute. Links having a
+ * scheme, protocol relative links, absolute paths and links above the site root are not checked. Links of pages
+ * included by other markdown files are relative to the including pages, so they are checked only in the including
+ * pages.
+ */
+public class LinkChecker {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    // Targets of markdown links and images, and of `src` and `href` attributes of HTML tags.
+    static final Pattern LINK = Pattern.compile("(?:]\\(|src=\"|href=\")\\s*<?([^\\s)\"<>]+)");
+    // Targets of reference style link definitions.
+    private static final Pattern LINK_DEFINITION = Pattern.compile("^ {0,3}\\[[^\\]]+]:\\s*<?([^\\s>]+)");
+    private static final Pattern HEADING = Pattern.compile("^#{1,6}\\s+(.*?)(?:\\s+#+)?\\s*$");
+    private static final Pattern EXPLICIT_ANCHOR = Pattern.compile("\\s(?:id|name)=\"([^\"]+)\"");
+    private static final Pattern INLINE_CODE = Pattern.compile("`[^`]*`");
+    private static final Pattern INLINE_LINK = Pattern.compile("!?\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern SCHEME = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]*:");
+    private static final String INDEX_MD = "index.md";
+
+    private final Set<String> files = new HashSet<>();
+    private final Map<String, Page> pages = new ConcurrentHashMap<>();
+    private final Set<String> includedPages = new HashSet<>();
+
+    private LinkChecker() {
+    }
+
+    /**
+     * Parse the pages of a site. Files of the website template are part of the site, so links to them are valid.
+     *
+     * @param site        site having the generated pages
+     * @param templateDir   docs directory of the website template
+     * @param includedPages paths of the pages included by other markdown files
+     * @param walker        directory walker used to parse the pages concurrently
+     * @return link checker of the site
+     */
+    static LinkChecker build(SiteTree site, File templateDir, Set<String> includedPages, DirectoryWalker walker) {
+        LinkChecker checker = new LinkChecker();
+        checker.includedPages.addAll(includedPages);
+        checker.files.addAll(site.getPaths());
+        addTemplateFiles(templateDir, templateDir, checker.files);
+        List<String> pagePaths = new ArrayList<>();
+        for (String path : site.getPaths()) {
+            if (path.endsWith("." + MARKDOWN_FILE_EXT)) {
+                pagePaths.add(path);
+            }
+        }
+        walker.forEach(pagePaths, path -> checker.pages.put(path,
+                parsePage(new String(site.getContent(path), StandardCharsets.UTF_8))));
+        return checker;
+    }
+
+    private static void addTemplateFiles(File templateDir, File directory, Set<String> files) {
+        for (File file : listSortedFiles(directory)) {
+            if (file.isDirectory()) {
+                addTemplateFiles(templateDir, file, files);
+            } else {
+                files.add(getRelativePath(templateDir, file));
+            }
+        }
+    }
+
+    /**
+     * Parse the links and anchors of a page. Fenced code blocks and inline code are skipped.
+     *
+     * @param content content of the page
+     * @return parsed page
+     */
+    static Page parsePage(String content) {
+        Page page = new Page();
+        Map<String, Integer> headingIds = new HashMap<>();
+        String fence = null;
+        String[] lines = content.split("\n", -1);
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            String trimmedLine = line.trim();
+            if (fence != null) {
+                if (trimmedLine.startsWith(fence)) {
+                    fence = null;
+                }
+                continue;
+            }
+            if (trimmedLine.startsWith("```") || trimmedLine.startsWith("~~~")) {
+                fence = trimmedLine.substring(0, 3);
+                continue;
+            }
+            // Patterns are matched only if a line can have a match, as most of the lines have no links or anchors.
+            if (line.startsWith("#")) {
+                Matcher heading = HEADING.matcher(line);
+                if (heading.matches()) {
+                    String id = getHeadingId(heading.group(1));
+                    // Later headings having the same id get a numbered suffix, as done by mkdocs.
+                    int count = headingIds.merge(id, 1, Integer::sum);
+                    page.anchors.add(count == 1 ? id : id + "_" + (count - 1));
+                }
+            }
+            String code = line.indexOf('`') >= 0 ? INLINE_CODE.matcher(line).replaceAll("") : line;
+            if (code.contains("id=\"") || code.contains("name=\"")) {
+                Matcher anchor = EXPLICIT_ANCHOR.matcher(code);
+                while (anchor.find()) {
+                    page.anchors.add(anchor.group(1));
+                }
+            }
+            if (code.contains("](") || code.contains("src=\"") || code.contains("href=\"")) {
+                Matcher link = LINK.matcher(code);
+                while (link.find()) {
+                    page.links.add(new Link(i + 1, link.group(1)));
+                }
+            }
+            if (trimmedLine.startsWith("[")) {
+                Matcher definition = LINK_DEFINITION.matcher(code);
+                if (definition.find()) {
+                    page.links.add(new Link(i + 1, definition.group(1)));
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Get the id mkdocs gives to a heading. Markdown and HTML of the heading text is removed before the text is
+     * slugified.
+     *
+     * @param text heading text
+     * @return heading id
+     */
+    static String getHeadingId(String text) {
+        String plainText = INLINE_LINK.matcher(text).replaceAll("$1");
+        plainText = HTML_TAG.matcher(plainText).replaceAll("").replace("`", "").replace("*", "");
+        String ascii = Normalizer.normalize(plainText, Normalizer.Form.NFKD).replaceAll("[^\\p{ASCII}]", "");
+        return ascii.replaceAll("[^\\w\\s-]", "").trim().toLowerCase().replaceAll("[-\\s]+", "-");
+    }
+
+    /**
+     * Resolve the links of all the pages and find the dangling ones.
+     *
+     * @param walker directory walker used to resolve the links concurrently
+     * @return number of links checked and the dangling links
+     */
+    Report check(DirectoryWalker walker) {
+        AtomicInteger checkedLinks = new AtomicInteger();
+        ConcurrentLinkedQueue<String> danglingLinks = new ConcurrentLinkedQueue<>();
+        List<String> pagePaths = new ArrayList<>(pages.keySet());
+        pagePaths.removeAll(includedPages);
+        walker.forEach(pagePaths, path -> {
+            for (Link link : pages.get(path).links) {
+                String error = resolve(path, link.target);
+                if (error != null) {
+                    danglingLinks.add(path + ":" + link.line + ": " + error + ": " + link.target);
+                }
+                checkedLinks.incrementAndGet();
+            }
+        });
+        List<String> sortedLinks = new ArrayList<>(danglingLinks);
+        Collections.sort(sortedLinks);
+        return new Report(pagePaths.size(), checkedLinks.get(), sortedLinks);
+    }
+
+    /**
+     * Resolve a link of a page.
+     *
+     * @param pagePath path of the page
+     * @param target   target of the link
+     * @return why the link is dangling, null if the link is valid or not checked
+     */
+    private String resolve(String pagePath, String target) {
+        if (SCHEME.matcher(target).find() || target.startsWith("/")) {
+            return null;
+        }
+        int fragmentIndex = target.indexOf('#');
+        String fragment = fragmentIndex >= 0 ? target.substring(fragmentIndex + 1) : "";
+        String path = fragmentIndex >= 0 ? target.substring(0, fragmentIndex) : target;
+        int queryIndex = path.indexOf('?');
+        if (queryIndex >= 0) {
+            path = path.substring(0, queryIndex);
+        }
+        path = decode(path);
+
+        String targetPath;
+        if (path.isEmpty()) {
+            targetPath = pagePath;
+        } else {
+            targetPath = null;
+            // mkdocs rewrites links to files relative to the directory of the page.
+            if (path.substring(path.lastIndexOf('/') + 1).contains(".")) {
+                String filePath = normalize(pagePath.substring(0, pagePath.lastIndexOf('/') + 1) + path);
+                if (filePath != null && files.contains(filePath)) {
+                    targetPath = filePath;
+                }
+            }
+            if (targetPath == null) {
+                String urlPath = normalize(getPageUrl(pagePath) + path);
+                if (urlPath == null) {
+                    // Links above the site root point to other sites of the same host.
+                    return null;
+                }
+                targetPath = getUrlTarget(urlPath);
+            }
+            if (targetPath == null) {
+                return "dangling link";
+            }
+        }
+        Page targetPage = pages.get(targetPath);
+        if (!fragment.isEmpty() && targetPage != null && !targetPage.anchors.contains(decode(fragment))) {
+            return "missing anchor";
+        }
+        return null;
+    }
+
+    /**
+     * Get the file or the page of the site served at a given URL path.
+     *
+     * @param urlPath URL path relative to the site root
+     * @return path of the file or page, null if the site has none
+     */
+    private String getUrlTarget(String urlPath) {
+        if (files.contains(urlPath)) {
+            return urlPath;
+        }
+        String[] candidates = urlPath.isEmpty() ? new String[]{INDEX_MD}
+                : new String[]{urlPath + "." + MARKDOWN_FILE_EXT, urlPath + "/" + INDEX_MD};
+        for (String candidate : candidates) {
+            if (files.contains(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the URL directory of a page, which is the directory of `index.md` pages and the page path without the
+     * extension for other pages.
+     *
+     * @param pagePath path of the page
+     * @return URL directory ending with `/`, empty for the site root
+     */
+    private static String getPageUrl(String pagePath) {
+        String directory = pagePath.substring(0, pagePath.lastIndexOf('/') + 1);
+        String name = pagePath.substring(directory.length());
+        if (name.equals(INDEX_MD)) {
+            return directory;
+        }
+        return directory + name.substring(0, name.length() - MARKDOWN_FILE_EXT.length() - 1) + "/";
+    }
+
+    /**
+     * Normalize a relative path by resolving `.` and `..` segments. Empty segments are dropped.
+     *
+     * @param path relative path
+     * @return normalized path, null if the path goes above the site root
+     */
+    private static String normalize(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (segment.equals("..")) {
+                if (segments.isEmpty()) {
+                    return null;
+                }
+                segments.remove(segments.size() - 1);
+            } else if (!segment.isEmpty() && !segment.equals(".")) {
+                segments.add(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private static String decode(String value) {
+        if (value.indexOf('%') < 0) {
+            return value;
+        }
+        try {
+            // `+` is not a space in a URL path.
+            return URLDecoder.decode(value.replace("+", "%2B"), StandardCharsets.UTF_8.name());
+        } catch (IllegalArgumentException | UnsupportedEncodingException e) {
+            return value;
+        }
+    }
+
+    /**
+     * Links and anchors of a page.
+     */
+    static class Page {
+        private final List<Link> links = new ArrayList<>();
+        private final Set<String> anchors = new HashSet<>();
+    }
+
+    /**
+     * Link target and the line of the page having the link.
+     */
+    static class Link {
+        private final int line;
+        private final String target;
+
+        Link(int line, String target) {
+            this.line = line;
+            this.target = target;
+        }
+    }
+
+    /**
+     * Links checked by a build and the dangling ones, given as `page:line: error: target`.
+     */
+    static class Report {
+        private final int pages;
+        private final int checkedLinks;
+        private final List<String> danglingLinks;
+
+        Report(int pages, int checkedLinks, List<String> danglingLinks) {
+            this.pages = pages;
+            this.checkedLinks = checkedLinks;
+            this.danglingLinks = danglingLinks;
+        }
+
+        int getPages() {
+            return pages;
+        }
+
+        int getCheckedLinks() {
+            return checkedLinks;
+        }
+
+        List<String> getDanglingLinks() {
+            return danglingLinks;
+        }
+
+        /**
+         * Write the report to a JSON file.
+         *
+         * @param file JSON file
+         */
+        void save(File file) {
+            try {
+                Files.createDirectories(file.toPath().getParent());
+            } catch (IOException e) {
+                throw new ServiceException("Error occurred when creating directory: " + file.getParent(), e);
+            }
+            try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                GSON.toJson(this, writer);
+            } catch (IOException e) {
+                throw new ServiceException("Error occurred when writing the link report: " + file.getPath(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina;
+
+import org.wso2.integration.ballerina.incremental.BuildManifest;
+import org.wso2.integration.ballerina.incremental.InputHashes;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outputs of the previous build, which an incremental build reuses instead of generating them again. A page or a zip
+ * file of a Ballerina project is reused if the manifest of the previous build has its inputs, none of them has changed
+ * since and the file is still in the mkdocs content directory. The reused file is neither read from the build cache
+ * nor hashed again. A full build has no previous outputs to reuse.
+ */
+class PreviousBuild {
+    private final File docsDir;
+    private final File outputDir;
+    private final BuildManifest manifest;
+    private final InputHashes inputHashes;
+    private final AtomicInteger reused = new AtomicInteger();
+
+    /**
+     * Create the previous build of a given manifest.
+     *
+     * @param docsDir     docs directory
+     * @param outputDir   mkdocs content directory having the outputs of the previous build
+     * @param manifest    manifest of the previous build, empty for a full build
+     * @param inputHashes hashes of the inputs of this build
+     */
+    PreviousBuild(File docsDir, File outputDir, BuildManifest manifest, InputHashes inputHashes) {
+        this.docsDir = docsDir;
+        this.outputDir = outputDir;
+        this.manifest = manifest;
+        this.inputHashes = inputHashes;
+    }
+
+    /**
+     * Add an output of the previous build to the site if its inputs are unchanged.
+     *
+     * @param site site
+     * @param path path of the output relative to the site root
+     * @return whether the output has been added to the site
+     */
+    boolean reuse(SiteTree site, String path) {
+        Map<String, String> inputs = manifest.getInputHashes().get(path);
+        String hash = manifest.getOutputHashes().get(path);
+        File output = new File(outputDir, path);
+        if (inputs == null || hash == null || !output.isFile() || !inputHashes.isUnchanged(docsDir, inputs)) {
+            return false;
+        }
+        site.addUnchangedFile(path, output, inputs, hash);
+        reused.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Get the number of the outputs reused so far.
+     *
+     * @return number of reused outputs
+     */
+    int getReused() {
+        return reused.get();
+    }
+}
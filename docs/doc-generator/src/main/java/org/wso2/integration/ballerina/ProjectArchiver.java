@@ -0,0 +1,242 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina;
+
+import org.apache.commons.io.FilenameUtils;
+import org.wso2.integration.ballerina.metrics.BuildMetrics;
+import org.wso2.integration.ballerina.utils.LineReader;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.wso2.integration.ballerina.Constants.NEW_LINE;
+import static org.wso2.integration.ballerina.Constants.README_MD;
+import static org.wso2.integration.ballerina.utils.Utils.copyFile;
+import static org.wso2.integration.ballerina.utils.Utils.deleteIfExists;
+import static org.wso2.integration.ballerina.utils.Utils.getHash;
+import static org.wso2.integration.ballerina.utils.Utils.getRelativePath;
+import static org.wso2.integration.ballerina.utils.Utils.getTempSibling;
+import static org.wso2.integration.ballerina.utils.Utils.listSortedFiles;
+import static org.wso2.integration.ballerina.utils.Utils.moveAtomically;
+
+/**
+ * Creates zip files of Ballerina projects. Entries are streamed from the source project directory after processing
+ * markdown and code files, so no processed copy of the project is needed. Entries are written in a sorted order with
+ * a fixed timestamp, which makes zip files of the same content byte identical. Zip files are kept in the build cache
+ * keyed by the content hash of the project and reused while the project is unchanged.
+ */
+public class ProjectArchiver {
+    // Local time is used so that the DOS time fields of the entries are the same in every time zone.
+    private static final long ENTRY_TIME = LocalDateTime.of(2019, 1, 1, 0, 0).atZone(ZoneId.systemDefault())
+            .toInstant().toEpochMilli();
+
+    private static final String ZIP_EXT = "zip";
+
+    private final File docsDir;
+    private final BuildCache cache;
+    private final boolean hardLinks;
+
+    ProjectArchiver(File docsDir, BuildCache cache, boolean hardLinks) {
+        this.docsDir = docsDir;
+        this.cache = cache;
+        this.hardLinks = hardLinks;
+    }
+
+    /**
+     * Create zip file of a Ballerina project. A cached zip file is reused if the content of the project is unchanged.
+     *
+     * @param projectDir Ballerina project directory
+     * @param zipFile    zip file to be created
+     */
+    void archive(File projectDir, File zipFile) {
+        copyFile(getArchive(projectDir, getInputs(projectDir)), zipFile, hardLinks);
+    }
+
+    /**
+     * Get the cached zip file of a Ballerina project. The zip file is created if the project has no cached zip file
+     * for its current inputs.
+     *
+     * @param projectDir Ballerina project directory
+     * @param inputs     hashes of the inputs of the project
+     * @return cached zip file
+     */
+    File getArchive(File projectDir, Map<String, String> inputs) {
+        String contentHash = getContentHash(projectDir, inputs);
+        File cachedZipFile = cache.get(contentHash, ZIP_EXT);
+        // Reused zip files are counted with the other hits of the build cache.
+        if (cachedZipFile == null) {
+            cachedZipFile = cache.getFile(contentHash, ZIP_EXT);
+            writeZipFile(projectDir, cachedZipFile);
+            BuildMetrics.addBytesWritten(cachedZipFile.length());
+        }
+        return cachedZipFile;
+    }
+
+    /**
+     * Get the hashes of the inputs of a Ballerina project by their paths relative to the docs directory: the files and
+     * directories of the project and the files included by the markdown files of the project.
+     *
+     * @param projectDir Ballerina project directory
+     * @return hashes of the inputs
+     */
+    Map<String, String> getInputs(File projectDir) {
+        Map<String, String> inputs = new LinkedHashMap<>();
+        addInputs(projectDir, inputs);
+        return inputs;
+    }
+
+    private void addInputs(File directory, Map<String, String> inputs) {
+        // Directory listings are inputs too, since added and removed files change the entries of the zip file.
+        DocsGenerator.INPUT_HASHES.addDirectory(docsDir, directory, inputs);
+        for (File file : listSortedFiles(directory)) {
+            if (file.isDirectory()) {
+                addInputs(file, inputs);
+                continue;
+            }
+            DocsGenerator.INPUT_HASHES.addFile(docsDir, file, inputs);
+            if (DocsGenerator.isPage(file)) {
+                for (File includedFile : DocsGenerator.getIncludedFiles(file)) {
+                    DocsGenerator.INPUT_HASHES.addFile(docsDir, includedFile, inputs);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get hash of the content of a Ballerina project, which is the hash of the build version, the project name and the
+     * hashes of the inputs of the project.
+     *
+     * @param projectDir Ballerina project directory
+     * @param inputs     hashes of the inputs of the project
+     * @return content hash
+     */
+    private static String getContentHash(File projectDir, Map<String, String> inputs) {
+        StringBuilder content = new StringBuilder(DocsGenerator.getBuildVersion()).append(NEW_LINE)
+                .append(projectDir.getName()).append(NEW_LINE);
+        for (Map.Entry<String, String> input : inputs.entrySet()) {
+            content.append(input.getKey()).append('=').append(input.getValue()).append(NEW_LINE);
+        }
+        return getHash(content.toString());
+    }
+
+    /**
+     * Write zip file of a Ballerina project. The zip file is written to a uniquely named temporary file first and moved
+     * to the given location atomically, so that a partially written zip file is never used.
+     *
+     * @param projectDir Ballerina project directory
+     * @param zipFile    zip file to be created
+     */
+    private static void writeZipFile(File projectDir, File zipFile) {
+        Path tempZipFile = getTempSibling(zipFile.toPath());
+        try {
+            Files.createDirectories(tempZipFile.getParent());
+            try (ZipOutputStream zipOutputStream = new ZipOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(tempZipFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)))) {
+                writeEntries(projectDir, projectDir, zipOutputStream);
+            }
+            moveAtomically(tempZipFile, zipFile.toPath());
+        } catch (IOException e) {
+            throw new ServiceException("Error when zipping the directory: " + projectDir.getPath(), e);
+        } finally {
+            deleteIfExists(tempZipFile.toFile());
+        }
+    }
+
+    /**
+     * Write entries of a directory inside a Ballerina project. Entry names start with the project directory name.
+     *
+     * @param projectDir      Ballerina project directory
+     * @param directory       directory inside the Ballerina project
+     * @param zipOutputStream zip output stream
+     * @throws IOException if writing an entry fails
+     */
+    private static void writeEntries(File projectDir, File directory, ZipOutputStream zipOutputStream)
+            throws IOException {
+        String entryPrefix = projectDir.getName() + "/";
+        if (!directory.equals(projectDir)) {
+            entryPrefix += getRelativePath(projectDir, directory) + "/";
+        }
+        putNextEntry(zipOutputStream, entryPrefix);
+        zipOutputStream.closeEntry();
+
+        for (File file : listSortedFiles(directory)) {
+            if (file.isDirectory()) {
+                writeEntries(projectDir, file, zipOutputStream);
+                continue;
+            }
+            String fileExtension = FilenameUtils.getExtension(file.getName());
+            if (DocsGenerator.isPage(file)) {
+                // README.md file of the project is not needed inside the zip file.
+                if (directory.equals(projectDir) && file.getName().equals(README_MD)) {
+                    continue;
+                }
+                putNextEntry(zipOutputStream, entryPrefix + (file.getName().equals(README_MD) ? "1.md"
+                        : file.getName()));
+                BuildMetrics.addBytesRead(file.length());
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(zipOutputStream,
+                        StandardCharsets.UTF_8));
+                try (LineReader reader = new LineReader(new InputStreamReader(new FileInputStream(file),
+                        StandardCharsets.UTF_8))) {
+                    DocsGenerator.rewriteReadme(file, reader, writer);
+                }
+                writer.flush();
+            } else if (fileExtension.equals("bal") || fileExtension.equals("java")) {
+                putNextEntry(zipOutputStream, entryPrefix + file.getName());
+                byte[] content = Files.readAllBytes(file.toPath());
+                BuildMetrics.addBytesRead(content.length);
+                if (DocsGenerator.isCodeRewriteNeeded(content)) {
+                    BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(zipOutputStream,
+                            StandardCharsets.UTF_8));
+                    DocsGenerator.ignoreCodeSegmentLine(file, content, writer);
+                    writer.flush();
+                } else {
+                    // Code files without CODE-SEGMENT markers are used as they are.
+                    zipOutputStream.write(content);
+                }
+            } else {
+                putNextEntry(zipOutputStream, entryPrefix + file.getName());
+                BuildMetrics.addBytesRead(Files.copy(file.toPath(), zipOutputStream));
+            }
+            zipOutputStream.closeEntry();
+        }
+    }
+
+    private static void putNextEntry(ZipOutputStream zipOutputStream, String name) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTime(ENTRY_TIME);
+        zipOutputStream.putNextEntry(entry);
+    }
+
+}
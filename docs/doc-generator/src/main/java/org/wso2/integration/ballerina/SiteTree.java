@@ -0,0 +1,270 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.integration.ballerina;
+
+import org.apache.commons.io.FilenameUtils;
+import org.wso2.integration.ballerina.incremental.InputHashes;
+import org.wso2.integration.ballerina.metrics.BuildMetrics;
+import org.wso2.integration.ballerina.utils.DirectoryWalker;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.wso2.integration.ballerina.Constants.README_MD;
+import static org.wso2.integration.ballerina.utils.Utils.copyFile;
+import static org.wso2.integration.ballerina.utils.Utils.getHash;
+import static org.wso2.integration.ballerina.utils.Utils.writeFileAtomically;
+
+/**
+ * In-memory model of the generated site. Each entry maps a path relative to the site root to either processed content
+ * or a file whose content is used as it is, such as images and zip files of Ballerina projects. Entries are added while
+ * the docs directory is walked and the site is written to a directory once the model is complete, so no intermediate
+ * copy of the docs directory is created, renamed or pruned on the disk.
+ */
+public class SiteTree {
+    // Entries are sorted by path, so directories are created and files are written in a stable order.
+    private final Map<String, Entry> entries = new ConcurrentSkipListMap<>();
+
+    /**
+     * Add processed content to the site.
+     *
+     * @param path    path relative to the site root
+     * @param content content of the file
+     */
+    void addContent(String path, byte[] content) {
+        addEntry(path, new Entry(content, null, null, null));
+    }
+
+    /**
+     * Add a file to the site. Content of the file is read only when the site is written.
+     *
+     * @param path path relative to the site root
+     * @param file file to be copied to the path
+     */
+    void addFile(String path, File file) {
+        addEntry(path, new Entry(null, file, null, null));
+    }
+
+    /**
+     * Add a file generated from the given inputs to the site.
+     *
+     * @param path   path relative to the site root
+     * @param file   file to be copied to the path
+     * @param inputs hashes of the inputs of the file keyed by their paths relative to the docs directory
+     */
+    void addFile(String path, File file, Map<String, String> inputs) {
+        addEntry(path, new Entry(null, file, inputs, null));
+    }
+
+    /**
+     * Add a file of the previous build whose inputs are unchanged. The file is not hashed again.
+     *
+     * @param path   path relative to the site root
+     * @param file   file of the previous build
+     * @param inputs hashes of the inputs of the file keyed by their paths relative to the docs directory
+     * @param hash   content hash of the file
+     */
+    void addUnchangedFile(String path, File file, Map<String, String> inputs, String hash) {
+        addEntry(path, new Entry(null, file, inputs, hash));
+    }
+
+    private void addEntry(String path, Entry entry) {
+        if (entries.putIfAbsent(path, entry) != null) {
+            throw new ServiceException("More than one file is generated for the path: " + path);
+        }
+    }
+
+    /**
+     * Remove the files having any of the given names from the site.
+     *
+     * @param names file names
+     * @return number of the files removed
+     */
+    int removeFiles(Collection<String> names) {
+        Set<String> nameSet = new HashSet<>(names);
+        int removed = 0;
+        Iterator<String> paths = entries.keySet().iterator();
+        while (paths.hasNext()) {
+            String path = paths.next();
+            if (nameSet.contains(path.substring(path.lastIndexOf('/') + 1))) {
+                paths.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get paths of all the entries.
+     *
+     * @return paths relative to the site root, in a sorted order
+     */
+    Set<String> getPaths() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * Get content of an entry. Content of a file entry is read from the file.
+     *
+     * @param path path relative to the site root
+     * @return content of the entry
+     */
+    byte[] getContent(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            throw new ServiceException("Site has no file for the path: " + path);
+        }
+        if (entry.content != null) {
+            return entry.content;
+        }
+        try {
+            return Files.readAllBytes(entry.file.toPath());
+        } catch (IOException e) {
+            throw new ServiceException("Error occurred when reading the file: " + entry.file.getPath(), e);
+        }
+    }
+
+    /**
+     * Get SHA-256 hashes of the content of all the entries. Entries are hashed concurrently by the given walker, except
+     * the unchanged files of the previous build, whose hashes are known.
+     *
+     * @param walker      directory walker
+     * @param inputHashes hashes of the input files of the build, which are also copied to the site as they are
+     * @return hashes of the entries keyed by their paths, in a sorted order
+     */
+    Map<String, String> getHashes(DirectoryWalker walker, InputHashes inputHashes) {
+        Map<String, String> hashes = new ConcurrentSkipListMap<>();
+        walker.forEach(entries.entrySet(), entry -> {
+            Entry value = entry.getValue();
+            if (value.hash != null) {
+                hashes.put(entry.getKey(), value.hash);
+            } else {
+                hashes.put(entry.getKey(), value.content != null ? getHash(value.content)
+                        : inputHashes.getInputHash(value.file));
+            }
+        });
+        return new TreeMap<>(hashes);
+    }
+
+    /**
+     * Get hashes of the inputs of the entries generated from inputs.
+     *
+     * @return hashes of the inputs keyed by the paths of the entries, in a sorted order
+     */
+    Map<String, Map<String, String>> getInputHashes() {
+        Map<String, Map<String, String>> inputHashes = new TreeMap<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().inputs != null) {
+                inputHashes.put(entry.getKey(), entry.getValue().inputs);
+            }
+        }
+        return inputHashes;
+    }
+
+    /**
+     * Write the site to a given directory. Only directories having files are created.
+     *
+     * @param directory root directory of the site
+     * @param hardLinks whether files are hard linked instead of being copied when possible
+     */
+    void write(File directory, boolean hardLinks) {
+        write(directory, entries.keySet(), hardLinks);
+    }
+
+    /**
+     * Write the given entries of the site to a given directory. Only directories having files are created.
+     *
+     * @param directory root directory of the site
+     * @param paths     paths of the entries to be written, in the order they are written
+     * @param hardLinks whether files are hard linked instead of being copied when possible
+     */
+    void write(File directory, Collection<String> paths, boolean hardLinks) {
+        for (String path : paths) {
+            File outputFile = new File(directory, path);
+            Entry value = entries.get(path);
+            if (value == null) {
+                throw new ServiceException("Site has no file for the path: " + path);
+            }
+            if (value.file != null) {
+                copyFile(value.file, outputFile, hardLinks);
+                continue;
+            }
+            // Output file may be a hard link of another file, so it is replaced instead of being overwritten.
+            writeFileAtomically(outputFile, value.content);
+            BuildMetrics.addFiles(1);
+            BuildMetrics.addBytesWritten(value.content.length);
+        }
+    }
+
+    /**
+     * Get the path of the page generated from a markdown file. README.md files are renamed as `1.md`.
+     *
+     * @param relativePath path of the markdown file relative to the docs directory
+     * @return path of the page relative to the site root
+     */
+    static String getPageOutputPath(String relativePath) {
+        if (FilenameUtils.getName(relativePath).equals(README_MD)) {
+            return FilenameUtils.getPath(relativePath) + "1.md";
+        }
+        return relativePath;
+    }
+
+    /**
+     * Get the path of the zip file of a Ballerina project.
+     *
+     * @param projectDir Ballerina project directory
+     * @return path of the zip file relative to the site root
+     */
+    static String getZipOutputPath(File projectDir) {
+        return "assets/zip/" + projectDir.getName() + ".zip";
+    }
+
+    /**
+     * Entry of the site having either processed content or a file.
+     */
+    private static class Entry {
+        private final byte[] content;
+        private final File file;
+        // Inputs of a generated file and the hash of an unchanged file of the previous build, null otherwise.
+        private final Map<String, String> inputs;
+        private final String hash;
+
+        Entry(byte[] content, File file, Map<String, String> inputs, String hash) {
+            this.content = content;
+            this.file = file;
+            this.inputs = inputs;
+            this.hash = hash;
+        }
+    }
+}
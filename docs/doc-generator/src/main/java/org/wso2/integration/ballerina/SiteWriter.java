@@ -0,0 +1,164 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.integration.ballerina.incremental.BuildManifest;
+import org.wso2.integration.ballerina.utils.DirectoryWalker;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.wso2.integration.ballerina.Constants.BUILD_MANIFEST_JSON;
+import static org.wso2.integration.ballerina.utils.Utils.copyDirectoryContent;
+import static org.wso2.integration.ballerina.utils.Utils.deleteDirectory;
+import static org.wso2.integration.ballerina.utils.Utils.deleteFile;
+import static org.wso2.integration.ballerina.utils.Utils.isDirEmpty;
+
+/**
+ * Writes a site to the mkdocs content directory and to the docs directory of the website. Full and incremental builds
+ * build the same {@link SiteTree} and differ only in how it is written. A full build starts from empty directories and
+ * writes every file. An incremental build writes only the files whose content hash differs from the manifest of the
+ * previous build and removes the files which are no longer generated. Both save the manifest with the input hashes of
+ * the pages and zip files, so an incremental build can follow any build and reuse its unchanged outputs.
+ */
+class SiteWriter {
+    private static final Logger logger = LoggerFactory.getLogger(SiteWriter.class);
+
+    private final File mkdocsContent;
+    private final File srcWwwDir;
+    private final File websiteDir;
+    private final File websiteDocsDir;
+    private final File manifestFile;
+    private final boolean hardLinks;
+
+    SiteWriter(String targetDir, boolean hardLinks) {
+        this.mkdocsContent = Paths.get(targetDir, "mkdocs-content").toFile();
+        this.srcWwwDir = Paths.get(targetDir, "..", "www").toFile();
+        this.websiteDir = Paths.get(targetDir, "www").toFile();
+        this.websiteDocsDir = new File(websiteDir, "docs");
+        this.manifestFile = Paths.get(targetDir, BUILD_MANIFEST_JSON).toFile();
+        this.hardLinks = hardLinks;
+    }
+
+    File getMkdocsContent() {
+        return mkdocsContent;
+    }
+
+    /**
+     * Load the manifest of the previous build. The manifest is empty if there is no previous build of the current
+     * build version.
+     *
+     * @return manifest of the previous build
+     */
+    BuildManifest loadManifest() {
+        return BuildManifest.load(manifestFile, DocsGenerator.getBuildVersion());
+    }
+
+    /**
+     * Write a site to the mkdocs content directory and the website directory.
+     *
+     * @param site     site to be written
+     * @param previous manifest of the previous build, empty for a full build
+     * @param walker   directory walker used to hash the files of the site
+     */
+    void write(SiteTree site, BuildManifest previous, DirectoryWalker walker) {
+        BuildManifest current = new BuildManifest(DocsGenerator.getBuildVersion());
+        current.getOutputHashes().putAll(site.getHashes(walker, DocsGenerator.INPUT_HASHES));
+        current.getInputHashes().putAll(site.getInputHashes());
+
+        if (previous.isEmpty()) {
+            // Outputs of a previous build are unknown, so start from a clean state.
+            deleteDirectory(mkdocsContent.getPath());
+            deleteDirectory(websiteDir.getPath());
+        }
+        // Outputs are not consistent with the manifest until this build completes.
+        if (manifestFile.exists()) {
+            deleteFile(manifestFile);
+        }
+        // Copy `www` directory inside `target` directory.
+        copyDirectoryContent(srcWwwDir.getPath(), websiteDir.getPath(), hardLinks);
+
+        File templateDocsDir = new File(srcWwwDir, "docs");
+        // Reused outputs are files of the mkdocs content directory, so they are written only to the website.
+        List<String> changedMkdocsPaths = new ArrayList<>();
+        List<String> changedWebsitePaths = new ArrayList<>();
+        for (Map.Entry<String, String> output : current.getOutputHashes().entrySet()) {
+            String path = output.getKey();
+            boolean changed = !output.getValue().equals(previous.getOutputHashes().get(path));
+            if (changed || !new File(mkdocsContent, path).exists()) {
+                changedMkdocsPaths.add(path);
+            }
+            // Files of the website template are copied over the site, so the site files having the same paths are
+            // written again.
+            if (changed || !new File(websiteDocsDir, path).exists() || new File(templateDocsDir, path).exists()) {
+                changedWebsitePaths.add(path);
+            }
+        }
+        site.write(mkdocsContent, changedMkdocsPaths, hardLinks);
+        site.write(websiteDocsDir, changedWebsitePaths, hardLinks);
+
+        int removed = 0;
+        for (String path : previous.getOutputHashes().keySet()) {
+            if (!current.getOutputHashes().containsKey(path)) {
+                removeOutput(new File(mkdocsContent, path), mkdocsContent);
+                if (!new File(templateDocsDir, path).exists()) {
+                    removeOutput(new File(websiteDocsDir, path), websiteDocsDir);
+                }
+                removed++;
+            }
+        }
+        current.save(manifestFile);
+        Set<String> changedPaths = new HashSet<>(changedMkdocsPaths);
+        changedPaths.addAll(changedWebsitePaths);
+        logger.info("Wrote {} changed files, skipped {} unchanged files and removed {} stale files of the site.",
+                changedPaths.size(), current.getOutputHashes().size() - changedPaths.size(), removed);
+    }
+
+    /**
+     * Remove an output and its parent directories if they become empty.
+     *
+     * @param file      output file
+     * @param directory root directory of the outputs
+     */
+    static void removeOutput(File file, File directory) {
+        if (file.exists()) {
+            deleteFile(file);
+        }
+        File parent = file.getParentFile();
+        while (parent != null && !parent.equals(directory) && isDirEmpty(parent)) {
+            deleteFile(parent);
+            parent = parent.getParentFile();
+        }
+    }
+
+    static void createParentDirectory(File file) {
+        File parent = file.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new ServiceException("Error occurred when creating directory: " + parent.getPath());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serves the files of the website directory over HTTP, so that the generated content can be checked while it is
+ * being edited. A directory is served by its `index.html` or `index.md` file.
+ */
+public class WebsiteServer {
+    private static final Logger logger = LoggerFactory.getLogger(WebsiteServer.class);
+    private static final Map<String, String> CONTENT_TYPES = new HashMap<>();
+
+    static {
+        CONTENT_TYPES.put("html", "text/html; charset=utf-8");
+        CONTENT_TYPES.put("md", "text/markdown; charset=utf-8");
+        CONTENT_TYPES.put("yml", "text/plain; charset=utf-8");
+        CONTENT_TYPES.put("css", "text/css; charset=utf-8");
+        CONTENT_TYPES.put("js", "application/javascript; charset=utf-8");
+        CONTENT_TYPES.put("json", "application/json; charset=utf-8");
+        CONTENT_TYPES.put("png", "image/png");
+        CONTENT_TYPES.put("jpg", "image/jpeg");
+        CONTENT_TYPES.put("jpeg", "image/jpeg");
+        CONTENT_TYPES.put("gif", "image/gif");
+        CONTENT_TYPES.put("svg", "image/svg+xml");
+        CONTENT_TYPES.put("zip", "application/zip");
+    }
+
+    private final File websiteDir;
+    private final HttpServer server;
+
+    WebsiteServer(File websiteDir, int port) {
+        this.websiteDir = websiteDir.getAbsoluteFile().toPath().normalize().toFile();
+        try {
+            this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        } catch (IOException e) {
+            throw new ServiceException("Could not start the website server on port: " + port, e);
+        }
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Start serving the website directory.
+     */
+    void start() {
+        server.start();
+        logger.info("Serving {} on http://localhost:{}", websiteDir.getPath(), server.getAddress().getPort());
+    }
+
+    /**
+     * Stop serving the website directory.
+     */
+    void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * Respond with the file of the requested path.
+     *
+     * @param exchange HTTP exchange
+     * @throws IOException if writing the response fails
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8.name());
+        File file = new File(websiteDir, path).toPath().normalize().toFile();
+        if (file.isDirectory()) {
+            File indexFile = new File(file, "index.html");
+            file = indexFile.isFile() ? indexFile : new File(file, "index.md");
+        }
+        // Files outside the website directory are never served.
+        if (!file.toPath().startsWith(websiteDir.toPath()) || !file.isFile()) {
+            byte[] message = ("Not found: " + path).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(404, message.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(message);
+            }
+            return;
+        }
+        String contentType = CONTENT_TYPES.get(FilenameUtils.getExtension(file.getName()).toLowerCase());
+        exchange.getResponseHeaders().set("Content-Type",
+                contentType != null ? contentType : "application/octet-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, file.length());
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            Files.copy(file.toPath(), outputStream);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.integration.ballerina.directive;
+
+import java.io.File;
+import java.util.Deque;
+
+/**
+ * Context of a directive line given to a {@link DirectiveHandler}.
+ */
+public class DirectiveContext {
+    private final File markdownFile;
+    private final String line;
+    private final String argument;
+    private final String title;
+    private final Deque<File> includeStack;
+
+    public DirectiveContext(File markdownFile, String line, String argument, String title, Deque<File> includeStack) {
+        this.markdownFile = markdownFile;
+        this.line = line;
+        this.argument = argument;
+        this.title = title;
+        this.includeStack = includeStack;
+    }
+
+    /**
+     * Get the markdown file having the directive line. Relative paths of the directive are resolved against the
+     * directory of this file, which is an included markdown file for directives of included content.
+     *
+     * @return markdown file
+     */
+    public File getMarkdownFile() {
+        return markdownFile;
+    }
+
+    /**
+     * Get the directive line without the line terminator.
+     *
+     * @return directive line
+     */
+    public String getLine() {
+        return line;
+    }
+
+    /**
+     * Get the argument of the directive, which is the trimmed text between the tag and the end of the comment.
+     *
+     * @return argument of the directive
+     */
+    public String getArgument() {
+        return argument;
+    }
+
+    /**
+     * Get the title of the page, which is empty until the heading of the page is processed.
+     *
+     * @return title of the page
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Get the normalized markdown files being included into the page, the innermost one at the top. Handlers
+     * including markdown content push the included file while resolving it, so that cyclic inclusions are detected.
+     *
+     * @return markdown files being included
+     */
+    public Deque<File> getIncludeStack() {
+        return includeStack;
+    }
+}
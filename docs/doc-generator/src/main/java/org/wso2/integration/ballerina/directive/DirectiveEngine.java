@@ -0,0 +1,129 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.integration.ballerina.directive;
+
+import org.wso2.integration.ballerina.metrics.BuildMetrics;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds and handles the directives of markdown lines. The tags of the built-in handlers and the handlers loaded with
+ * {@link ServiceLoader} are compiled into a single {@link DirectiveScanner}, so each added directive costs nothing
+ * extra per line. Built-in handlers take precedence over the loaded handlers, which are ordered by their tags.
+ * Outputs of pure handlers are kept until {@link #clearOutputs()} is called.
+ */
+public class DirectiveEngine {
+    private final DirectiveScanner<DirectiveHandler> scanner;
+    private final List<DirectiveHandler> loadedHandlers;
+    private final Map<String, String> outputs = new ConcurrentHashMap<>();
+
+    public DirectiveEngine(List<DirectiveHandler> builtInHandlers) {
+        DirectiveRegistry<DirectiveHandler> registry = new DirectiveRegistry<>();
+        for (DirectiveHandler handler : builtInHandlers) {
+            registry.register(handler.getTag(), handler);
+        }
+        this.loadedHandlers = loadHandlers();
+        for (DirectiveHandler handler : loadedHandlers) {
+            registry.register(handler.getTag(), handler);
+        }
+        this.scanner = registry.compile();
+    }
+
+    private static List<DirectiveHandler> loadHandlers() {
+        List<DirectiveHandler> handlers = new ArrayList<>();
+        try {
+            for (DirectiveHandler handler : ServiceLoader.load(DirectiveHandler.class)) {
+                handlers.add(handler);
+            }
+        } catch (ServiceConfigurationError e) {
+            throw new ServiceException("Could not load directive handlers", e);
+        }
+        handlers.sort(Comparator.comparing(DirectiveHandler::getTag));
+        return handlers;
+    }
+
+    /**
+     * Get the handlers loaded with {@link ServiceLoader}.
+     *
+     * @return loaded handlers in the order of precedence
+     */
+    public List<DirectiveHandler> getLoadedHandlers() {
+        return Collections.unmodifiableList(loadedHandlers);
+    }
+
+    /**
+     * Find the handler of the directive of a given text.
+     *
+     * @param text text such as a line or the content of a markdown file
+     * @return handler of the directive with the highest precedence in the text, or null if there is no directive
+     */
+    public DirectiveHandler scan(CharSequence text) {
+        return scanner.scan(text);
+    }
+
+    /**
+     * Find the handler of the directive of a given line.
+     *
+     * @param line  line
+     * @param match match to be updated with the position of the tag
+     * @return handler of the directive with the highest precedence in the line, or null if there is no directive
+     */
+    public DirectiveHandler scan(CharSequence line, DirectiveMatch<DirectiveHandler> match) {
+        return scanner.scan(line, match);
+    }
+
+    /**
+     * Handle a directive line. The output of a pure handler is reused for the same line in the same directory.
+     *
+     * @param handler handler of the directive
+     * @param context context of the directive line
+     * @return content replacing the line
+     */
+    public String handle(DirectiveHandler handler, DirectiveContext context) {
+        if (!handler.isPure()) {
+            return handler.handle(context);
+        }
+        String key = handler.getTag() + '\n' + context.getMarkdownFile().getParent() + '\n' + context.getLine();
+        String output = outputs.get(key);
+        if (output != null) {
+            BuildMetrics.addCacheHit();
+            return output;
+        }
+        BuildMetrics.addCacheMiss();
+        output = handler.handle(context);
+        outputs.putIfAbsent(key, output);
+        return output;
+    }
+
+    /**
+     * Clear the outputs of pure handlers, which may be outdated once files have changed.
+     */
+    public void clearOutputs() {
+        outputs.clear();
+    }
+}
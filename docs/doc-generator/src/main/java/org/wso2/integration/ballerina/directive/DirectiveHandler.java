@@ -0,0 +1,54 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.integration.ballerina.directive;
+
+/**
+ * Handler of a markdown directive. A line having the tag of the directive, such as `<!-- INCLUDE_TOML: Ballerina.toml
+ * -->`, is replaced by the output of the handler. Handlers other than the built-in ones are loaded with
+ * {@link java.util.ServiceLoader}, so a directive is added by listing the class name of its handler in
+ * `META-INF/services/org.wso2.integration.ballerina.directive.DirectiveHandler` of a jar in the class path. Pages are
+ * processed concurrently in parallel builds, so handlers have to be thread safe.
+ */
+public interface DirectiveHandler {
+
+    /**
+     * Get the tag of the directive, such as `INCLUDE_TOML:`. Tags contain only ASCII characters.
+     *
+     * @return tag of the directive
+     */
+    String getTag();
+
+    /**
+     * Check whether the handler is pure. The output of a pure handler depends only on the directive line and the
+     * files inside the directory of the markdown file, so it is reused for the same line in the same directory
+     * during a build.
+     *
+     * @return whether the handler is pure
+     */
+    boolean isPure();
+
+    /**
+     * Handle a directive line.
+     *
+     * @param context context of the directive line
+     * @return content replacing the line, without the line terminator
+     */
+    String handle(DirectiveContext context);
+}
@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.integration.ballerina.directive;
+
+/**
+ * Position of a directive tag found by a {@link DirectiveScanner}. A match is updated by each scan, so that a single
+ * instance can be reused for all the lines of a file.
+ *
+ * @param <T> type of the directives
+ */
+public class DirectiveMatch<T> {
+    private CharSequence text;
+    private T directive;
+    private int tagStart;
+    private int tagEnd;
+    private int end;
+
+    void set(CharSequence text, T directive, int tagStart, int tagEnd, int end) {
+        this.text = text;
+        this.directive = directive;
+        this.tagStart = tagStart;
+        this.tagEnd = tagEnd;
+        this.end = end;
+    }
+
+    public T getDirective() {
+        return directive;
+    }
+
+    public int getTagStart() {
+        return tagStart;
+    }
+
+    public int getTagEnd() {
+        return tagEnd;
+    }
+
+    /**
+     * Get the argument of the directive, which is the trimmed text after the tag until the end of the scanned region.
+     *
+     * @return argument of the directive
+     */
+    public String getArgument() {
+        return getArgument(end);
+    }
+
+    /**
+     * Get the argument of the directive, which is the trimmed text after the tag until a given terminator, such as the
+     * end of a comment. The text until the end of the scanned region is used if the terminator is not found.
+     *
+     * @param terminator terminator of the argument
+     * @return argument of the directive
+     */
+    public String getArgument(String terminator) {
+        String string = text.toString();
+        int terminatorIndex = string.indexOf(terminator, tagEnd);
+        return getArgument(terminatorIndex >= 0 && terminatorIndex < end ? terminatorIndex : end);
+    }
+
+    private String getArgument(int argumentEnd) {
+        int argumentStart = tagEnd;
+        while (argumentStart < argumentEnd && text.charAt(argumentStart) <= ' ') {
+            argumentStart++;
+        }
+        while (argumentEnd > argumentStart && text.charAt(argumentEnd - 1) <= ' ') {
+            argumentEnd--;
+        }
+        return text.subSequence(argumentStart, argumentEnd).toString();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.integration.ballerina.directive;
+
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registry of directive tags. Directives are given in the order of precedence, which decides the directive of a line
+ * having more than one tag. The registry is compiled into a {@link DirectiveScanner}, so that a line is classified in
+ * a single pass however many directives are registered.
+ *
+ * @param <T> type of the directives
+ */
+public class DirectiveRegistry<T> {
+    private final List<String> tags = new ArrayList<>();
+    private final List<T> directives = new ArrayList<>();
+
+    /**
+     * Register a directive after the already registered directives.
+     *
+     * @param tag       tag of the directive, which contains only ASCII characters
+     * @param directive directive
+     * @return this registry
+     */
+    public DirectiveRegistry<T> register(String tag, T directive) {
+        if (tag.isEmpty() || !tag.chars().allMatch(c -> c < DirectiveScanner.ALPHABET_SIZE)) {
+            throw new ServiceException("Invalid directive tag: " + tag);
+        }
+        if (tags.contains(tag)) {
+            throw new ServiceException("Directive tag is already registered: " + tag);
+        }
+        tags.add(tag);
+        directives.add(directive);
+        return this;
+    }
+
+    /**
+     * Compile the registered directives into a scanner.
+     *
+     * @return directive scanner
+     */
+    public DirectiveScanner<T> compile() {
+        return new DirectiveScanner<>(tags, directives);
+    }
+}
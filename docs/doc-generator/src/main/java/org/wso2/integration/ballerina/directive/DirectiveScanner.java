@@ -0,0 +1,194 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.integration.ballerina.directive;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Finds directive tags in text using an Aho-Corasick automaton. All the tags are matched in a single pass over the
+ * characters without allocating, and the directive with the highest precedence found is returned. Scanners are
+ * immutable and can be shared between threads.
+ *
+ * @param <T> type of the directives
+ */
+public class DirectiveScanner<T> {
+    static final int ALPHABET_SIZE = 128;
+    private static final int NO_DIRECTIVE = Integer.MAX_VALUE;
+
+    private final List<T> directives;
+    private final int[] tagLengths;
+    // Next state at `state * ALPHABET_SIZE + character` for ASCII characters. Other characters always go back to the
+    // initial state.
+    private final int[] transitions;
+    // Directive with the highest precedence among the tags ending at each state.
+    private final int[] outputs;
+    // First character of all the tags if they have the same first character, which is searched for with
+    // `String.indexOf` to skip text without any tags. Otherwise -1.
+    private final int firstCharacter;
+
+    DirectiveScanner(List<String> tags, List<T> directives) {
+        this.directives = Collections.unmodifiableList(new ArrayList<>(directives));
+        this.tagLengths = new int[tags.size()];
+        List<int[]> gotoTable = new ArrayList<>();
+        List<Integer> outputList = new ArrayList<>();
+        gotoTable.add(newState());
+        outputList.add(NO_DIRECTIVE);
+
+        // Build the trie of the tags.
+        for (int directive = 0; directive < tags.size(); directive++) {
+            String tag = tags.get(directive);
+            tagLengths[directive] = tag.length();
+            int state = 0;
+            for (int i = 0; i < tag.length(); i++) {
+                char c = tag.charAt(i);
+                if (gotoTable.get(state)[c] < 0) {
+                    gotoTable.get(state)[c] = gotoTable.size();
+                    gotoTable.add(newState());
+                    outputList.add(NO_DIRECTIVE);
+                }
+                state = gotoTable.get(state)[c];
+            }
+            outputList.set(state, Math.min(outputList.get(state), directive));
+        }
+
+        // Add failure transitions in breadth first order, so that the failure state of a state is complete first.
+        int[][] table = gotoTable.toArray(new int[0][]);
+        outputs = new int[table.length];
+        for (int state = 0; state < outputs.length; state++) {
+            outputs[state] = outputList.get(state);
+        }
+        int[] failures = new int[table.length];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET_SIZE; c++) {
+            if (table[0][c] < 0) {
+                table[0][c] = 0;
+            } else {
+                queue.add(table[0][c]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            outputs[state] = Math.min(outputs[state], outputs[failures[state]]);
+            for (int c = 0; c < ALPHABET_SIZE; c++) {
+                int next = table[state][c];
+                if (next < 0) {
+                    table[state][c] = table[failures[state]][c];
+                } else {
+                    failures[next] = table[failures[state]][c];
+                    queue.add(next);
+                }
+            }
+        }
+        this.transitions = new int[table.length * ALPHABET_SIZE];
+        for (int state = 0; state < table.length; state++) {
+            System.arraycopy(table[state], 0, this.transitions, state * ALPHABET_SIZE, ALPHABET_SIZE);
+        }
+        this.firstCharacter = tags.stream().map(tag -> tag.charAt(0)).distinct().count() == 1 ? tags.get(0).charAt(0)
+                : -1;
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET_SIZE];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    /**
+     * Find the directive of a given text.
+     *
+     * @param text text such as a line
+     * @return directive with the highest precedence whose tag is in the text, or null if there is no tag
+     */
+    public T scan(CharSequence text) {
+        return scan(text, 0, text.length(), null);
+    }
+
+    /**
+     * Find the directive of a given text.
+     *
+     * @param text  text such as a line
+     * @param match match to be updated with the first occurrence of the tag of the directive, may be null
+     * @return directive with the highest precedence whose tag is in the text, or null if there is no tag
+     */
+    public T scan(CharSequence text, DirectiveMatch<T> match) {
+        return scan(text, 0, text.length(), match);
+    }
+
+    /**
+     * Find the directive of a given content encoded in UTF-8 or in any other encoding compatible with ASCII. Bytes of
+     * other characters never match the ASCII characters of the tags.
+     *
+     * @param content content such as the content of a file
+     * @return directive with the highest precedence whose tag is in the content, or null if there is no tag
+     */
+    public T scan(byte[] content) {
+        int state = 0;
+        int directive = NO_DIRECTIVE;
+        for (int i = 0; i < content.length && directive != 0; i++) {
+            byte b = content[i];
+            state = b >= 0 ? transitions[state * ALPHABET_SIZE + b] : 0;
+            directive = Math.min(directive, outputs[state]);
+        }
+        return directive == NO_DIRECTIVE ? null : directives.get(directive);
+    }
+
+    /**
+     * Find the directive of a region of a given text.
+     *
+     * @param text  text such as the content of a file
+     * @param start start index of the region
+     * @param end   end index of the region, exclusive
+     * @param match match to be updated with the first occurrence of the tag of the directive, may be null
+     * @return directive with the highest precedence whose tag is in the region, or null if there is no tag
+     */
+    public T scan(CharSequence text, int start, int end, DirectiveMatch<T> match) {
+        String string = firstCharacter >= 0 && text instanceof String ? (String) text : null;
+        int state = 0;
+        int directive = NO_DIRECTIVE;
+        int tagEnd = -1;
+        for (int i = start; i < end && directive != 0; i++) {
+            if (state == 0 && string != null) {
+                // Only the first character of the tags leaves the initial state.
+                i = string.indexOf(firstCharacter, i);
+                if (i < 0 || i >= end) {
+                    break;
+                }
+            }
+            char c = text.charAt(i);
+            state = c < ALPHABET_SIZE ? transitions[state * ALPHABET_SIZE + c] : 0;
+            if (outputs[state] < directive) {
+                directive = outputs[state];
+                tagEnd = i + 1;
+            }
+        }
+        if (directive == NO_DIRECTIVE) {
+            return null;
+        }
+        if (match != null) {
+            match.set(text, directives.get(directive), tagEnd - tagLengths[directive], tagEnd, end);
+        }
+        return directives.get(directive);
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.include;
+
+import org.wso2.integration.ballerina.directive.DirectiveMatch;
+import org.wso2.integration.ballerina.directive.DirectiveRegistry;
+import org.wso2.integration.ballerina.directive.DirectiveScanner;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.wso2.integration.ballerina.Constants.CODE_SEGMENT_BEGIN;
+import static org.wso2.integration.ballerina.Constants.CODE_SEGMENT_END;
+import static org.wso2.integration.ballerina.Constants.LICENCE_LAST_LINE;
+
+/**
+ * Content of an included file. The licence header is located and the `CODE-SEGMENT-BEGIN` and `CODE-SEGMENT-END`
+ * offsets of each segment are indexed once when the file is read, so that segments can be looked up without
+ * scanning the content again. Large files are memory mapped instead of being read into the heap, and only the code or
+ * the segments which are included are decoded.
+ */
+public class CodeFile {
+    // Code segment comment lines. A line having both markers begins a segment.
+    public static final DirectiveScanner<SegmentMarker> SEGMENT_MARKERS = new DirectiveRegistry<SegmentMarker>()
+            .register(CODE_SEGMENT_BEGIN, SegmentMarker.BEGIN)
+            .register(CODE_SEGMENT_END, SegmentMarker.END)
+            .compile();
+
+    // Either the content as a string or the mapped content of a large file.
+    private final CharSequence content;
+    private final long lastModified;
+    private final long length;
+    // Offsets of the code without the licence header, -1 if the licence header is not found.
+    private int codeStart = -1;
+    private int codeEnd = -1;
+    private final Map<String, int[]> segments = new HashMap<>();
+
+    CodeFile(String content, long lastModified, long length) {
+        this((CharSequence) content, lastModified, length);
+    }
+
+    CodeFile(MappedContent content, long lastModified, long length) {
+        this((CharSequence) content, lastModified, length);
+    }
+
+    private CodeFile(CharSequence content, long lastModified, long length) {
+        this.content = content;
+        this.lastModified = lastModified;
+        this.length = length;
+        locateCode();
+        if (codeStart >= 0) {
+            indexSegments();
+        }
+    }
+
+    /**
+     * Locate the code after the licence header. The code is the trimmed content after the first
+     * `// under the License.` line and before the next one, if there is any.
+     */
+    private void locateCode() {
+        int licenceEnd = indexOf(LICENCE_LAST_LINE, 0);
+        if (licenceEnd < 0) {
+            return;
+        }
+        int start = licenceEnd + LICENCE_LAST_LINE.length();
+        int end = indexOf(LICENCE_LAST_LINE, start);
+        if (end < 0) {
+            end = content.length();
+        }
+        while (start < end && content.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && content.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        codeStart = start;
+        codeEnd = end;
+    }
+
+    /**
+     * Index begin and end offsets of code segments by going through the lines of the code once. Lines of mapped
+     * content may end with `\r\n` or `\r`, whose `\r` characters also end lines.
+     */
+    private void indexSegments() {
+        Map<String, Integer> openSegments = new HashMap<>();
+        DirectiveMatch<SegmentMarker> match = new DirectiveMatch<>();
+        int lineStart = codeStart;
+        while (lineStart < codeEnd) {
+            int lineEnd = lineStart;
+            while (lineEnd < codeEnd && content.charAt(lineEnd) != '\n' && content.charAt(lineEnd) != '\r') {
+                lineEnd++;
+            }
+            SegmentMarker marker = SEGMENT_MARKERS.scan(content, lineStart, lineEnd, match);
+            if (marker == SegmentMarker.BEGIN) {
+                String name = match.getArgument();
+                if (!name.isEmpty() && !segments.containsKey(name) && !openSegments.containsKey(name)) {
+                    openSegments.put(name, indexOf(name, match.getTagEnd()) + name.length());
+                }
+            } else if (marker == SegmentMarker.END) {
+                String name = match.getArgument();
+                Integer begin = openSegments.remove(name);
+                if (begin != null) {
+                    segments.put(name, new int[]{begin, match.getTagStart()});
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        // A segment without an end tag continues until the end of the code.
+        for (Map.Entry<String, Integer> openSegment : openSegments.entrySet()) {
+            segments.put(openSegment.getKey(), new int[]{openSegment.getValue(), codeEnd});
+        }
+    }
+
+    private int indexOf(String text, int fromIndex) {
+        if (content instanceof String) {
+            return ((String) content).indexOf(text, fromIndex);
+        }
+        for (int i = fromIndex; i <= content.length() - text.length(); i++) {
+            int j = 0;
+            while (j < text.length() && content.charAt(i + j) == text.charAt(j)) {
+                j++;
+            }
+            if (j == text.length()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String decode(int start, int end) {
+        if (content instanceof MappedContent) {
+            return ((MappedContent) content).decode(start, end);
+        }
+        return content.subSequence(start, end).toString();
+    }
+
+    /**
+     * Markers of code segment comment lines.
+     */
+    public enum SegmentMarker {
+        BEGIN,
+        END
+    }
+
+    boolean isModified(long lastModified, long length) {
+        return this.lastModified != lastModified || this.length != length;
+    }
+
+    /**
+     * Get the full content of the file. Mapped content is decoded on each call.
+     *
+     * @return file content
+     */
+    public String getContent() {
+        return content.toString();
+    }
+
+    /**
+     * Check whether the licence header of the code file is in the correct format.
+     *
+     * @return whether the licence header is found
+     */
+    public boolean hasLicenceHeader() {
+        return codeStart >= 0;
+    }
+
+    /**
+     * Check whether the code has a given code segment.
+     *
+     * @param segmentName segment name used in the code file (eg: segment_1)
+     * @return whether the code segment is found
+     */
+    public boolean hasSegment(String segmentName) {
+        return segments.containsKey(segmentName);
+    }
+
+    /**
+     * Get the code without the licence header.
+     *
+     * @param guide path of the guide including the code, used in the error message
+     * @return code without licence header
+     */
+    public String getCode(String guide) {
+        if (codeStart < 0) {
+            throw new ServiceException("Licence header is not in the correct format.\nGuide\t: " + guide + "\nCode\t:\n"
+                    + getContent());
+        }
+        return decode(codeStart, codeEnd);
+    }
+
+    /**
+     * Get a code segment of the code without the licence header.
+     *
+     * @param segmentName segment name used in the code file (eg: segment_1)
+     * @param guide       path of the guide including the code segment, used in the error message
+     * @return code segment
+     */
+    public String getSegment(String segmentName, String guide) {
+        if (codeStart < 0) {
+            getCode(guide);
+        }
+        int[] offsets = segments.get(segmentName);
+        if (offsets == null) {
+            throw new ServiceException("Invalid code segment including. segmentName: " + segmentName);
+        }
+        return decode(offsets[0], offsets[1]);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.include;
+
+import java.io.File;
+
+/**
+ * An inclusion of a markdown file, given by an INCLUDE_CODE, INCLUDE_CODE_SEGMENT or INCLUDE_MD tag.
+ */
+public class Include {
+    private final Type type;
+    private final File file;
+    private final String segment;
+    private final int lineNumber;
+
+    public Include(Type type, File file, String segment, int lineNumber) {
+        this.type = type;
+        this.file = file;
+        this.segment = segment;
+        this.lineNumber = lineNumber;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Get the name of the included code segment.
+     *
+     * @return segment name or null if the inclusion is not an INCLUDE_CODE_SEGMENT inclusion
+     */
+    public String getSegment() {
+        return segment;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Types of inclusions.
+     */
+    public enum Type {
+        INCLUDE_CODE,
+        INCLUDE_CODE_SEGMENT,
+        INCLUDE_MD
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.include;
+
+import org.wso2.integration.ballerina.metrics.BuildMetrics;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.wso2.integration.ballerina.utils.Utils.getCodeFile;
+import static org.wso2.integration.ballerina.utils.Utils.normalizeLineEndings;
+
+/**
+ * Cache of the files included in markdown files. Files are keyed by their canonical path and are read again only if
+ * their modified time or size has changed. Line endings of the files are normalized to `\n`. Files larger than
+ * {@link #MAPPED_FILE_SIZE} are memory mapped, so the heap used by an inclusion does not depend on the size of the
+ * included file. The cache is safe to be used by multiple threads.
+ */
+public class IncludeCache {
+    static final long MAPPED_FILE_SIZE = 1024 * 1024;
+
+    private final ConcurrentMap<String, CodeFile> files = new ConcurrentHashMap<>();
+
+    /**
+     * Get an included file.
+     *
+     * @param file         included file
+     * @param markdownFile markdown file has the inclusion
+     * @return content of the included file
+     */
+    public CodeFile get(File file, File markdownFile) {
+        String canonicalPath;
+        try {
+            canonicalPath = file.getCanonicalPath();
+        } catch (IOException e) {
+            throw new ServiceException("Error occurred when resolving the include file path: " + file.getPath(), e);
+        }
+        long lastModified = file.lastModified();
+        long length = file.length();
+        return files.compute(canonicalPath, (path, cached) -> {
+            if (cached != null && !cached.isModified(lastModified, length)) {
+                BuildMetrics.addCacheHit();
+                return cached;
+            }
+            BuildMetrics.addCacheMiss();
+            BuildMetrics.addBytesRead(length);
+            if (length > MAPPED_FILE_SIZE && length <= Integer.MAX_VALUE) {
+                return new CodeFile(map(file), lastModified, length);
+            }
+            return new CodeFile(normalizeLineEndings(getCodeFile(file, markdownFile)), lastModified, length);
+        });
+    }
+
+    private static MappedContent map(File file) {
+        try {
+            return MappedContent.map(file);
+        } catch (IOException e) {
+            throw new ServiceException("Error occurred when mapping the include file: " + file.getPath(), e);
+        }
+    }
+
+    /**
+     * Remove all cached files.
+     */
+    public void clear() {
+        files.clear();
+    }
+}
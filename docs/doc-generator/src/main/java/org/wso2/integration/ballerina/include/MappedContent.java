@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.integration.ballerina.include;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import static org.wso2.integration.ballerina.utils.Utils.normalizeLineEndings;
+
+/**
+ * Content of a memory mapped file encoded in UTF-8. Characters of the sequence are the bytes of the file, so that
+ * ASCII text such as licence headers, code segment tags and segment names can be located by scanning the mapped
+ * buffer without decoding it. Only the ranges which are actually included are decoded to strings. The content can be
+ * shared between threads.
+ */
+class MappedContent implements CharSequence {
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int end;
+
+    private MappedContent(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Map a file into memory.
+     *
+     * @param file file smaller than 2 GB
+     * @return mapped content of the file
+     * @throws IOException if the file cannot be mapped
+     */
+    static MappedContent map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedContent(buffer, 0, buffer.capacity());
+        }
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (buffer.get(start + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new MappedContent(buffer, this.start + start, this.start + end);
+    }
+
+    /**
+     * Decode a range of the content. Line endings of the decoded string are normalized to `\n`.
+     *
+     * @param start start index of the range
+     * @param end   end index of the range, exclusive
+     * @return decoded string
+     */
+    String decode(int start, int end) {
+        // A duplicate has its own position, so concurrent decoding does not interfere.
+        ByteBuffer range = buffer.duplicate();
+        ((Buffer) range).position(this.start + start);
+        byte[] bytes = new byte[end - start];
+        range.get(bytes);
+        return normalizeLineEndings(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String toString() {
+        return decode(0, length());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.incremental;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Manifest persisted between docs builds. Keeps the content hash of each file of the generated site and, for pages and
+ * zip files of Ballerina projects, the hashes of all the inputs the file was generated from, including the files
+ * included transitively by the pages. The next incremental build reuses a generated file whose inputs are unchanged
+ * without processing it again, writes only the files whose content has changed and removes the files no longer
+ * generated.
+ */
+public class BuildManifest {
+    private static final Logger logger = LoggerFactory.getLogger(BuildManifest.class);
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private String generatorVersion;
+    private Map<String, String> outputHashes = new TreeMap<>();
+    private Map<String, Map<String, String>> inputHashes = new TreeMap<>();
+
+    public BuildManifest(String generatorVersion) {
+        this.generatorVersion = generatorVersion;
+    }
+
+    /**
+     * Load a manifest from a file. An empty manifest is returned if the file does not exist or cannot be parsed, so
+     * that every output gets written.
+     *
+     * @param file             manifest file
+     * @param generatorVersion version of the generator, a manifest of a different version is ignored
+     * @return loaded manifest
+     */
+    public static BuildManifest load(File file, String generatorVersion) {
+        if (!file.exists()) {
+            return new BuildManifest(generatorVersion);
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            BuildManifest manifest = GSON.fromJson(reader, BuildManifest.class);
+            // Manifests of older formats have no output or input hashes.
+            if (manifest != null && generatorVersion.equals(manifest.generatorVersion)
+                    && manifest.outputHashes != null && manifest.inputHashes != null) {
+                return manifest;
+            }
+        } catch (IOException | JsonParseException e) {
+            logger.warn("Ignoring unreadable build manifest: {}", file.getPath(), e);
+        }
+        return new BuildManifest(generatorVersion);
+    }
+
+    /**
+     * Save the manifest to a file.
+     *
+     * @param file manifest file
+     */
+    public void save(File file) {
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            GSON.toJson(this, writer);
+        } catch (IOException e) {
+            throw new ServiceException("Error occurred when writing the build manifest: " + file.getPath(), e);
+        }
+    }
+
+    public boolean isEmpty() {
+        return outputHashes.isEmpty();
+    }
+
+    /**
+     * Get content hashes of the generated files.
+     *
+     * @return hashes keyed by the paths of the files relative to the site root
+     */
+    public Map<String, String> getOutputHashes() {
+        return outputHashes;
+    }
+
+    /**
+     * Get content hashes of the inputs of the generated files. Files copied to the site as they are have no inputs.
+     *
+     * @return hashes of the inputs keyed by their paths relative to the docs directory, keyed by the paths of the
+     * generated files relative to the site root
+     */
+    public Map<String, Map<String, String>> getInputHashes() {
+        return inputHashes;
+    }
+}
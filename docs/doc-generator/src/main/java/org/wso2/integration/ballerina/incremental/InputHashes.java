@@ -0,0 +1,117 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.incremental;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.wso2.integration.ballerina.utils.Utils.getFileHash;
+import static org.wso2.integration.ballerina.utils.Utils.getHash;
+import static org.wso2.integration.ballerina.utils.Utils.getRelativePath;
+
+/**
+ * Content hashes of the inputs of a build, such as pages, included files and files of Ballerina projects. An input is
+ * either a file, hashed by its content, or a directory, hashed by the names of its entries so that added and removed
+ * files are noticed. Inputs are keyed by their paths relative to the docs directory, with a trailing `/` for
+ * directories. Each input is hashed once per build, although it may be an input of many outputs. The hashes are safe
+ * to be used by multiple threads and must be cleared before the next build.
+ */
+public class InputHashes {
+    private static final String MISSING = "missing";
+
+    private final Map<File, String> fileHashes = new ConcurrentHashMap<>();
+    private final Map<File, String> directoryHashes = new ConcurrentHashMap<>();
+
+    /**
+     * Add a file to the inputs of an output.
+     *
+     * @param docsDir docs directory
+     * @param file    input file
+     * @param inputs  inputs of the output
+     */
+    public void addFile(File docsDir, File file, Map<String, String> inputs) {
+        inputs.put(getRelativePath(docsDir, file.toPath().normalize().toFile()), getInputHash(file));
+    }
+
+    /**
+     * Add the entry names of a directory to the inputs of an output.
+     *
+     * @param docsDir   docs directory
+     * @param directory input directory
+     * @param inputs    inputs of the output
+     */
+    public void addDirectory(File docsDir, File directory, Map<String, String> inputs) {
+        inputs.put(getRelativePath(docsDir, directory.toPath().normalize().toFile()) + "/",
+                getDirectoryHash(directory));
+    }
+
+    /**
+     * Check whether none of the given inputs has changed.
+     *
+     * @param docsDir docs directory
+     * @param inputs  hashes of the inputs keyed by their paths
+     * @return whether all the inputs have the same hashes
+     */
+    public boolean isUnchanged(File docsDir, Map<String, String> inputs) {
+        for (Map.Entry<String, String> input : inputs.entrySet()) {
+            String path = input.getKey();
+            String hash = path.endsWith("/") ? getDirectoryHash(new File(docsDir, path))
+                    : getInputHash(new File(docsDir, path));
+            if (!hash.equals(input.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the content hash of a file, `missing` if there is no such file.
+     *
+     * @param file file
+     * @return hex encoded hash
+     */
+    public String getInputHash(File file) {
+        return fileHashes.computeIfAbsent(getKey(file), key -> key.isFile() ? getFileHash(key) : MISSING);
+    }
+
+    private String getDirectoryHash(File directory) {
+        return directoryHashes.computeIfAbsent(getKey(directory), key -> {
+            String[] names = key.list();
+            if (names == null) {
+                return MISSING;
+            }
+            Arrays.sort(names);
+            return getHash(String.join("/", names));
+        });
+    }
+
+    private static File getKey(File file) {
+        return file.getAbsoluteFile().toPath().normalize().toFile();
+    }
+
+    /**
+     * Remove all the hashes, so that inputs are hashed again.
+     */
+    public void clear() {
+        fileHashes.clear();
+        directoryHashes.clear();
+    }
+}
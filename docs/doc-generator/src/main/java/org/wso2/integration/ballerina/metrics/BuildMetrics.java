@@ -0,0 +1,227 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.metrics;
+
+import org.apache.commons.io.FilenameUtils;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Collects metrics of a docs build. The build runs its stages one after the other, so counters recorded by any thread
+ * are added to the stage which is currently running. The time taken by each page and each included file is recorded
+ * to find the slowest ones.
+ */
+public final class BuildMetrics {
+    private static final String OTHER_STAGE = "other";
+
+    private static final Map<String, StageCounters> stages = new LinkedHashMap<>();
+    private static final ConcurrentMap<String, LongAdder> pageTimes = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LongAdder> includeTimes = new ConcurrentHashMap<>();
+    private static volatile StageCounters currentStage = new StageCounters(OTHER_STAGE);
+    private static volatile Path baseDir;
+    private static volatile long startTime = System.nanoTime();
+
+    private BuildMetrics() {}
+
+    /**
+     * Remove collected metrics and start collecting metrics of a new build.
+     *
+     * @param docsDir docs directory, paths of pages and included files are reported relative to it
+     */
+    public static synchronized void reset(File docsDir) {
+        stages.clear();
+        pageTimes.clear();
+        includeTimes.clear();
+        currentStage = new StageCounters(OTHER_STAGE);
+        baseDir = docsDir.getAbsoluteFile().toPath().normalize();
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * Start a stage. Counters recorded until the stage is closed are added to it.
+     *
+     * @param name stage name
+     * @return running stage
+     */
+    public static synchronized Stage startStage(String name) {
+        StageCounters counters = stages.computeIfAbsent(name, StageCounters::new);
+        Stage stage = new Stage(counters, currentStage);
+        currentStage = counters;
+        return stage;
+    }
+
+    /**
+     * Run an action as a stage.
+     *
+     * @param name   stage name
+     * @param action action of the stage
+     */
+    public static void time(String name, Runnable action) {
+        Stage stage = startStage(name);
+        try {
+            action.run();
+        } finally {
+            stage.close();
+        }
+    }
+
+    /**
+     * Compute a value as a stage.
+     *
+     * @param name     stage name
+     * @param supplier supplier of the value
+     * @param <T>      type of the value
+     * @return computed value
+     */
+    public static <T> T time(String name, Supplier<T> supplier) {
+        Stage stage = startStage(name);
+        try {
+            return supplier.get();
+        } finally {
+            stage.close();
+        }
+    }
+
+    public static void addFiles(long count) {
+        currentStage.files.add(count);
+    }
+
+    public static void addBytesRead(long bytes) {
+        currentStage.bytesRead.add(bytes);
+    }
+
+    public static void addBytesWritten(long bytes) {
+        currentStage.bytesWritten.add(bytes);
+    }
+
+    public static void addCacheHit() {
+        currentStage.cacheHits.increment();
+    }
+
+    public static void addCacheMiss() {
+        currentStage.cacheMisses.increment();
+    }
+
+    /**
+     * Record the time taken to generate a page.
+     *
+     * @param page  markdown file of the page
+     * @param nanos time taken in nanoseconds
+     */
+    public static void recordPage(File page, long nanos) {
+        pageTimes.computeIfAbsent(getPath(page), key -> new LongAdder()).add(nanos);
+    }
+
+    /**
+     * Record the time taken to include a file. Times of all the inclusions of a file are added together.
+     *
+     * @param includedFile included file
+     * @param nanos        time taken in nanoseconds
+     */
+    public static void recordInclude(File includedFile, long nanos) {
+        includeTimes.computeIfAbsent(getPath(includedFile), key -> new LongAdder()).add(nanos);
+    }
+
+    private static String getPath(File file) {
+        Path path = file.getAbsoluteFile().toPath().normalize();
+        Path base = baseDir;
+        return FilenameUtils.separatorsToUnix(base != null ? base.relativize(path).toString() : path.toString());
+    }
+
+    /**
+     * Get a report of the collected metrics.
+     *
+     * @param slowestCount number of the slowest pages and included files to report
+     * @return metrics report
+     */
+    public static synchronized MetricsReport getReport(int slowestCount) {
+        List<MetricsReport.StageReport> stageReports = new ArrayList<>();
+        for (StageCounters counters : stages.values()) {
+            stageReports.add(new MetricsReport.StageReport(counters.name, toMillis(counters.wallNanos.sum()),
+                    counters.files.sum(), counters.bytesRead.sum(), counters.bytesWritten.sum(),
+                    counters.cacheHits.sum(), counters.cacheMisses.sum()));
+        }
+        return new MetricsReport(toMillis(System.nanoTime() - startTime), stageReports,
+                getSlowest(pageTimes, slowestCount), getSlowest(includeTimes, slowestCount));
+    }
+
+    private static List<MetricsReport.Timing> getSlowest(Map<String, LongAdder> times, int count) {
+        return times.entrySet().stream()
+                .map(entry -> new MetricsReport.Timing(entry.getKey(), toMillis(entry.getValue().sum())))
+                .sorted(Comparator.comparingDouble(MetricsReport.Timing::getMillis).reversed()
+                        .thenComparing(MetricsReport.Timing::getPath))
+                .limit(count)
+                .collect(Collectors.toList());
+    }
+
+    private static double toMillis(long nanos) {
+        return (double) TimeUnit.NANOSECONDS.toMicros(nanos) / 1000;
+    }
+
+    /**
+     * A running stage of the build.
+     */
+    public static class Stage implements AutoCloseable {
+        private final StageCounters counters;
+        private final StageCounters previous;
+        private final long stageStartTime = System.nanoTime();
+
+        private Stage(StageCounters counters, StageCounters previous) {
+            this.counters = counters;
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            counters.wallNanos.add(System.nanoTime() - stageStartTime);
+            synchronized (BuildMetrics.class) {
+                currentStage = previous;
+            }
+        }
+    }
+
+    /**
+     * Counters of a stage.
+     */
+    private static class StageCounters {
+        private final String name;
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder files = new LongAdder();
+        private final LongAdder bytesRead = new LongAdder();
+        private final LongAdder bytesWritten = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder cacheMisses = new LongAdder();
+
+        StageCounters(String name) {
+            this.name = name;
+        }
+    }
+}
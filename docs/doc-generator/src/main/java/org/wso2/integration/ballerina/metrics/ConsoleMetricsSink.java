@@ -0,0 +1,59 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Logs the metrics of a build as tables.
+ */
+public class ConsoleMetricsSink implements MetricsSink {
+    private static final Logger logger = LoggerFactory.getLogger(ConsoleMetricsSink.class);
+    private static final String STAGE_ROW = "%n%-10s %10s %8s %12s %12s %8s %8s";
+    private static final String TIMING_ROW = "%n%10.2f  %s";
+
+    @Override
+    public void report(MetricsReport report) {
+        StringBuilder table = new StringBuilder(String.format("Build metrics (total %.2f ms):",
+                report.getTotalMillis()));
+        table.append(String.format(STAGE_ROW, "Stage", "Time (ms)", "Files", "Read (KB)", "Written (KB)", "Hits",
+                "Misses"));
+        for (MetricsReport.StageReport stage : report.getStages()) {
+            table.append(String.format(STAGE_ROW, stage.getName(), String.format("%.2f", stage.getMillis()),
+                    stage.getFiles(), stage.getBytesRead() / 1024, stage.getBytesWritten() / 1024,
+                    stage.getCacheHits(), stage.getCacheMisses()));
+        }
+        appendTimings(table, "Slowest pages", report.getSlowestPages());
+        appendTimings(table, "Slowest included files", report.getSlowestIncludes());
+        logger.info(table.toString());
+    }
+
+    private static void appendTimings(StringBuilder table, String title, List<MetricsReport.Timing> timings) {
+        if (timings.isEmpty()) {
+            return;
+        }
+        table.append(String.format("%n%s:", title)).append(String.format("%n%10s  %s", "Time (ms)", "Path"));
+        for (MetricsReport.Timing timing : timings) {
+            table.append(String.format(TIMING_ROW, timing.getMillis(), timing.getPath()));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Writes the metrics of a build to a JSON file.
+ */
+public class JsonMetricsSink implements MetricsSink {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final File file;
+
+    public JsonMetricsSink(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public void report(MetricsReport report) {
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            GSON.toJson(report, writer);
+        } catch (IOException e) {
+            throw new ServiceException("Error occurred when writing the build metrics: " + file.getPath(), e);
+        }
+    }
+}
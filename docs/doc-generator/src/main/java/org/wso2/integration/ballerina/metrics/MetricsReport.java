@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.metrics;
+
+import java.util.List;
+
+/**
+ * Metrics of a docs build. Times are given in milliseconds and sizes in bytes.
+ */
+public class MetricsReport {
+    private final double totalMillis;
+    private final List<StageReport> stages;
+    private final List<Timing> slowestPages;
+    private final List<Timing> slowestIncludes;
+
+    MetricsReport(double totalMillis, List<StageReport> stages, List<Timing> slowestPages,
+                  List<Timing> slowestIncludes) {
+        this.totalMillis = totalMillis;
+        this.stages = stages;
+        this.slowestPages = slowestPages;
+        this.slowestIncludes = slowestIncludes;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public List<StageReport> getStages() {
+        return stages;
+    }
+
+    public List<Timing> getSlowestPages() {
+        return slowestPages;
+    }
+
+    public List<Timing> getSlowestIncludes() {
+        return slowestIncludes;
+    }
+
+    /**
+     * Metrics of a stage of the build.
+     */
+    public static class StageReport {
+        private final String name;
+        private final double millis;
+        private final long files;
+        private final long bytesRead;
+        private final long bytesWritten;
+        private final long cacheHits;
+        private final long cacheMisses;
+
+        StageReport(String name, double millis, long files, long bytesRead, long bytesWritten, long cacheHits,
+                    long cacheMisses) {
+            this.name = name;
+            this.millis = millis;
+            this.files = files;
+            this.bytesRead = bytesRead;
+            this.bytesWritten = bytesWritten;
+            this.cacheHits = cacheHits;
+            this.cacheMisses = cacheMisses;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getMillis() {
+            return millis;
+        }
+
+        public long getFiles() {
+            return files;
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        public long getCacheHits() {
+            return cacheHits;
+        }
+
+        public long getCacheMisses() {
+            return cacheMisses;
+        }
+    }
+
+    /**
+     * Time taken by a page or an included file.
+     */
+    public static class Timing {
+        private final String path;
+        private final double millis;
+
+        Timing(String path, double millis) {
+            this.path = path;
+            this.millis = millis;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public double getMillis() {
+            return millis;
+        }
+    }
+}
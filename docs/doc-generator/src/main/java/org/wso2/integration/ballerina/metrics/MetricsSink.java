@@ -0,0 +1,33 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.metrics;
+
+/**
+ * Destination of the metrics of a docs build. Implementations are selected with the `--metrics` option, either by
+ * the name of a built in sink or by a class name. A class given by name must have a public no argument constructor.
+ */
+public interface MetricsSink {
+
+    /**
+     * Report the metrics of a build.
+     *
+     * @param report metrics report
+     */
+    void report(MetricsReport report);
+}
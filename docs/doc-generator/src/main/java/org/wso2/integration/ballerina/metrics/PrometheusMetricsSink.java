@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.metrics;
+
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Writes the metrics of a build to a file in the Prometheus text format. Metrics are named and tagged the same way a
+ * Micrometer registry names them, so that they can be collected with the metrics of other builds, for example by a
+ * node exporter text file collector.
+ */
+public class PrometheusMetricsSink implements MetricsSink {
+    private final File file;
+
+    public PrometheusMetricsSink(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public void report(MetricsReport report) {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+            writeGauge(writer, "docs_build_duration_seconds", null, report.getTotalMillis() / 1000);
+            List<MetricsReport.StageReport> stages = report.getStages();
+            writeStages(writer, "docs_stage_duration_seconds", stages, stage -> stage.getMillis() / 1000);
+            writeStages(writer, "docs_stage_files_total", stages, MetricsReport.StageReport::getFiles);
+            writeStages(writer, "docs_stage_read_bytes_total", stages, MetricsReport.StageReport::getBytesRead);
+            writeStages(writer, "docs_stage_written_bytes_total", stages,
+                    MetricsReport.StageReport::getBytesWritten);
+            writeStages(writer, "docs_stage_cache_hits_total", stages, MetricsReport.StageReport::getCacheHits);
+            writeStages(writer, "docs_stage_cache_misses_total", stages, MetricsReport.StageReport::getCacheMisses);
+            writeTimings(writer, "docs_page_duration_seconds", "page", report.getSlowestPages());
+            writeTimings(writer, "docs_include_duration_seconds", "include", report.getSlowestIncludes());
+        } catch (IOException e) {
+            throw new ServiceException("Error occurred when writing the build metrics: " + file.getPath(), e);
+        }
+    }
+
+    private static void writeStages(PrintWriter writer, String name, List<MetricsReport.StageReport> stages,
+                                    ToDoubleFunction<MetricsReport.StageReport> value) {
+        writer.println("# TYPE " + name + " gauge");
+        for (MetricsReport.StageReport stage : stages) {
+            writeSample(writer, name, "stage=\"" + stage.getName() + "\"", value.applyAsDouble(stage));
+        }
+    }
+
+    private static void writeTimings(PrintWriter writer, String name, String tag, List<MetricsReport.Timing> timings) {
+        writer.println("# TYPE " + name + " gauge");
+        for (MetricsReport.Timing timing : timings) {
+            writeSample(writer, name, tag + "=\"" + timing.getPath().replace("\\", "\\\\").replace("\"", "\\\"")
+                    + "\"", timing.getMillis() / 1000);
+        }
+    }
+
+    private static void writeGauge(PrintWriter writer, String name, String tags, double value) {
+        writer.println("# TYPE " + name + " gauge");
+        writeSample(writer, name, tags, value);
+    }
+
+    private static void writeSample(PrintWriter writer, String name, String tags, double value) {
+        // Counters are written without a fraction.
+        String sample = value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+        writer.println(name + (tags != null ? "{" + tags + "}" : "") + " " + sample);
+    }
+}
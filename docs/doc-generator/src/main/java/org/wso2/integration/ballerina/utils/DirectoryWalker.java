@@ -0,0 +1,178 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.utils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Walks through a directory tree and visits its files and directories. When the parallelism is more than one,
+ * directories are walked concurrently using a work stealing {@link ForkJoinPool}. Files of a single directory are
+ * always visited by a single thread in the listing order.
+ */
+public class DirectoryWalker implements AutoCloseable {
+    private final int parallelism;
+    private final ForkJoinPool pool;
+
+    public DirectoryWalker(int parallelism) {
+        if (parallelism < 1) {
+            throw new ServiceException("Invalid thread count: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Walk through a given directory. The given directory itself is not visited.
+     *
+     * @param directory directory to walk through
+     * @param visitor   visitor of the files and directories
+     */
+    public void walk(File directory, Visitor visitor) {
+        if (pool == null) {
+            walkSequentially(directory, visitor);
+        } else {
+            pool.invoke(new DirectoryTask(directory, visitor));
+        }
+    }
+
+    /**
+     * Perform an action for each of the given items. Items are processed concurrently when the parallelism is more
+     * than one, so the action must be thread safe.
+     *
+     * @param items  items to be processed
+     * @param action action to be performed for each item
+     * @param <T>    type of the items
+     */
+    public <T> void forEach(Collection<T> items, Consumer<T> action) {
+        if (pool == null) {
+            items.forEach(action);
+        } else {
+            pool.submit(() -> items.parallelStream().forEach(action)).join();
+        }
+    }
+
+    private static void walkSequentially(File directory, Visitor visitor) {
+        File[] listOfFiles = directory.listFiles();
+        if (listOfFiles != null) {
+            for (File file : listOfFiles) {
+                if (file.isFile()) {
+                    visitor.visitFile(file);
+                } else if (file.isDirectory() && visitor.acceptDirectory(file)) {
+                    visitor.preVisitDirectory(file);
+                    walkSequentially(file, visitor);
+                    visitor.postVisitDirectory(file);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Visitor of the files and directories of a directory tree.
+     */
+    public interface Visitor {
+
+        /**
+         * Visit a file.
+         *
+         * @param file file
+         */
+        void visitFile(File file);
+
+        /**
+         * Check whether a directory and its content should be visited.
+         *
+         * @param directory directory
+         * @return whether the directory should be visited
+         */
+        default boolean acceptDirectory(File directory) {
+            return true;
+        }
+
+        /**
+         * Visit a directory before its content is visited.
+         *
+         * @param directory directory
+         */
+        default void preVisitDirectory(File directory) {
+        }
+
+        /**
+         * Visit a directory after its content is visited.
+         *
+         * @param directory directory
+         */
+        default void postVisitDirectory(File directory) {
+        }
+    }
+
+    /**
+     * Fork join task visiting the content of a directory. A sub task is forked for each sub directory.
+     */
+    private static class DirectoryTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final File directory;
+        private final Visitor visitor;
+
+        DirectoryTask(File directory, Visitor visitor) {
+            this.directory = directory;
+            this.visitor = visitor;
+        }
+
+        @Override
+        protected void compute() {
+            File[] listOfFiles = directory.listFiles();
+            if (listOfFiles == null) {
+                return;
+            }
+            List<DirectoryTask> subTasks = new ArrayList<>();
+            for (File file : listOfFiles) {
+                if (file.isFile()) {
+                    visitor.visitFile(file);
+                } else if (file.isDirectory() && visitor.acceptDirectory(file)) {
+                    visitor.preVisitDirectory(file);
+                    DirectoryTask subTask = new DirectoryTask(file, visitor);
+                    subTask.fork();
+                    subTasks.add(subTask);
+                }
+            }
+            for (DirectoryTask subTask : subTasks) {
+                subTask.join();
+                visitor.postVisitDirectory(subTask.directory);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+import static org.wso2.integration.ballerina.Constants.NEW_LINE;
+
+/**
+ * Reads lines of a character stream while keeping the line terminator of each line, so that the content can be
+ * written back without changing the presence of a trailing new line.
+ */
+public class LineReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    private String lineTerminator = "";
+
+    public LineReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read the next line without its line terminator.
+     *
+     * @return next line or null if the end of the stream has been reached
+     * @throws IOException if an I/O error occurs
+     */
+    public String readLine() throws IOException {
+        line.setLength(0);
+        lineTerminator = "";
+        boolean read = false;
+        while (fill()) {
+            read = true;
+            char c = buffer[position++];
+            if (c == '\n') {
+                lineTerminator = "\n";
+                return line.toString();
+            } else if (c == '\r') {
+                lineTerminator = fill() && buffer[position] == '\n' ? "\r\n" : "\r";
+                position += lineTerminator.length() - 1;
+                return line.toString();
+            }
+            line.append(c);
+        }
+        return read ? line.toString() : null;
+    }
+
+    /**
+     * Get the line terminator of the last line read. An empty string is returned if the last line is not terminated.
+     *
+     * @return line terminator
+     */
+    public String getLineTerminator() {
+        return lineTerminator;
+    }
+
+    /**
+     * Get the line terminator of the last line read normalized to `\n`, so that the content is written with the same
+     * line endings on every platform. An empty string is returned if the last line is not terminated.
+     *
+     * @return normalized line terminator
+     */
+    public String getNormalizedLineTerminator() {
+        return lineTerminator.isEmpty() ? lineTerminator : NEW_LINE;
+    }
+
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        limit = reader.read(buffer, 0, BUFFER_SIZE);
+        position = 0;
+        return limit > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
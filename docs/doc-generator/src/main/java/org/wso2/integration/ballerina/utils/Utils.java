@@ -19,9 +19,11 @@
 package org.wso2.integration.ballerina.utils;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.integration.ballerina.metrics.BuildMetrics;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -30,9 +32,23 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 
 import static org.wso2.integration.ballerina.Constants.BALLERINA_CODE_MD_SYNTAX;
 import static org.wso2.integration.ballerina.Constants.CODE;
@@ -43,9 +59,9 @@ import static org.wso2.integration.ballerina.Constants.FRONT_MATTER_SIGN;
 import static org.wso2.integration.ballerina.Constants.GIT_COMMIT_ID;
 import static org.wso2.integration.ballerina.Constants.HASH;
 import static org.wso2.integration.ballerina.Constants.JAVA_CODE_MD_SYNTAX;
-import static org.wso2.integration.ballerina.Constants.LICENCE_LAST_LINE;
 import static org.wso2.integration.ballerina.Constants.NEW_LINE;
 import static org.wso2.integration.ballerina.Constants.NOTE;
+import static org.wso2.integration.ballerina.Constants.SHA_256;
 import static org.wso2.integration.ballerina.Constants.TITLE;
 
 /**
@@ -56,85 +72,175 @@ public class Utils {
     private Utils() {}
 
     /**
-     * Create a directory.
+     * Delete a directory.
      *
-     * @param directoryPath path of the directory
+     * @param directory path of the directory
      */
-    public static void createDirectory(String directoryPath) {
-        File file = new File(directoryPath);
-        if (!file.exists()) {
-            if (!file.mkdir()) {
-                throw new ServiceException("Error occurred when creating directory: " + directoryPath);
-            }
-        } else {
-            if (logger.isInfoEnabled()) {
-                logger.info("Directory already exists: {}", directoryPath);
-            }
+    public static void deleteDirectory(String directory) {
+        try {
+            FileUtils.deleteDirectory(new File(directory));
+        } catch (IOException e) {
+            throw new ServiceException("Error occurred while deleting temporary directory " + directory, e);
         }
     }
 
     /**
-     * Create a file.
+     * Delete a file.
      *
-     * @param filePath path of the file
+     * @param file file should be deleted
      */
-    public static void createFile(String filePath) {
-        File file = new File(filePath);
-        if (!file.exists()) {
-            try {
-                if (!file.createNewFile()) {
-                    throw new ServiceException("Could not create the file: " + filePath);
-                }
-            } catch (IOException e) {
-                throw new ServiceException("Error when creating the file: " + filePath, e);
-            }
-        } else {
-            if (logger.isInfoEnabled()) {
-                logger.info("File already exists: {}", filePath);
-            }
+    public static void deleteFile(File file) {
+        try {
+            Files.delete(Paths.get(file.getPath()));
+        } catch (IOException e) {
+            throw new ServiceException("Error occurred when deleting file. file:" + file.getPath(), e);
         }
     }
 
     /**
-     * Delete a directory.
+     * Delete a file if it exists.
      *
-     * @param directory path of the directory
+     * @param file file should be deleted
      */
-    public static void deleteDirectory(String directory) {
+    public static void deleteIfExists(File file) {
         try {
-            FileUtils.deleteDirectory(new File(directory));
+            Files.deleteIfExists(file.toPath());
         } catch (IOException e) {
-            throw new ServiceException("Error occurred while deleting temporary directory " + directory, e);
+            throw new ServiceException("Error occurred when deleting file. file:" + file.getPath(), e);
         }
     }
 
     /**
-     * Delete a file.
+     * Copy directory content to another directory. If hard links are used, files of the destination directory are
+     * created as hard links of the source files and are copied only when the file system cannot link them.
      *
-     * @param file file should be deleted
+     * @param src       path of the source directory
+     * @param dest      path of the destination directory
+     * @param hardLinks whether to create hard links instead of copying files
      */
-    public static void deleteFile(File file) {
+    public static void copyDirectoryContent(String src, String dest, boolean hardLinks) {
+        Path srcPath = Paths.get(src);
+        Path destPath = Paths.get(dest);
         try {
-            Files.delete(Paths.get(file.getPath()));
+            Files.walkFileTree(srcPath, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    Files.createDirectories(destPath.resolve(srcPath.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    linkOrCopyFile(file, destPath.resolve(srcPath.relativize(file)), hardLinks);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
         } catch (IOException e) {
-            throw new ServiceException("Error occurred when deleting file. file:" + file.getPath(), e);
+            throw new ServiceException("Error when copying directory content. src: " + src + ", dest: " + dest, e);
         }
     }
 
     /**
-     * Copy directory content to another directory.
+     * Copy a file. If hard links are used, the destination file is created as a hard link of the source file and is
+     * copied only when the file system cannot link them.
      *
-     * @param src  path of the source directory
-     * @param dest path of the destination directory
+     * @param src       source file
+     * @param dest      destination file
+     * @param hardLinks whether to create a hard link instead of copying the file
      */
-    public static void copyDirectoryContent(String src, String dest) {
+    public static void copyFile(File src, File dest, boolean hardLinks) {
         try {
-            FileUtils.copyDirectory(new File(src), new File(dest));
+            Files.createDirectories(dest.toPath().getParent());
+            linkOrCopyFile(src.toPath(), dest.toPath(), hardLinks);
         } catch (IOException e) {
-            throw new ServiceException("Error when copying directory content. src: " + src + ", dest: " + dest, e);
+            throw new ServiceException("Error when copying file. src: " + src.getPath() + ", dest: " + dest.getPath(),
+                    e);
+        }
+    }
+
+    /**
+     * Write content to a file atomically. The content is written to a uniquely named sibling of the file, which is
+     * then moved over the file. Readers never see a partially written file, concurrent writers never share a temporary
+     * file and a hard link of the previous content is replaced instead of being overwritten.
+     *
+     * @param file    file to write
+     * @param content content of the file
+     */
+    public static void writeFileAtomically(File file, byte[] content) {
+        Path tempFile = getTempSibling(file.toPath());
+        try {
+            Files.createDirectories(tempFile.getParent());
+            Files.write(tempFile, content, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            moveAtomically(tempFile, file.toPath());
+        } catch (IOException e) {
+            throw new ServiceException("Error when writing file: " + file.getPath(), e);
+        } finally {
+            deleteIfExists(tempFile.toFile());
+        }
+    }
+
+    /**
+     * Get a uniquely named temporary file in the directory of a given file. The temporary file is not created.
+     *
+     * @param file file
+     * @return path of the temporary file
+     */
+    public static Path getTempSibling(Path file) {
+        return file.resolveSibling("." + file.getFileName() + "." + UUID.randomUUID() + ".tmp");
+    }
+
+    /**
+     * Move a file replacing the target file. The move is atomic unless the file system does not support atomic moves.
+     *
+     * @param src  file to move
+     * @param dest target file
+     * @throws IOException if moving the file fails
+     */
+    public static void moveAtomically(Path src, Path dest) throws IOException {
+        try {
+            Files.move(src, dest, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(src, dest, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
+    /**
+     * Link or copy a file. An existing destination file is deleted first, so that a file linked by a previous build
+     * is never overwritten in place.
+     *
+     * @param src       source file
+     * @param dest      destination file
+     * @param hardLinks whether to create a hard link instead of copying the file
+     * @throws IOException if the file cannot be copied
+     */
+    private static void linkOrCopyFile(Path src, Path dest, boolean hardLinks) throws IOException {
+        Files.deleteIfExists(dest);
+        if (hardLinks) {
+            try {
+                Files.createLink(dest, src);
+                BuildMetrics.addFiles(1);
+                return;
+            } catch (IOException | UnsupportedOperationException e) {
+                // Hard links are not supported by the file system or across file systems.
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Could not create a hard link, copying the file: {}", src, e);
+                }
+            }
+        }
+        try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(dest, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+        Files.setLastModifiedTime(dest, Files.getLastModifiedTime(src));
+        BuildMetrics.addFiles(1);
+        BuildMetrics.addBytesRead(Files.size(src));
+        BuildMetrics.addBytesWritten(Files.size(dest));
+    }
+
     /**
      * Get file content as a string.
      *
@@ -157,23 +263,6 @@ public class Utils {
         }
     }
 
-    /**
-     * Remove licence header of the code.
-     *
-     * @param code code file content
-     * @param file code file
-     * @return code without licence header
-     */
-    public static String removeLicenceHeader(String code, String file) {
-        if (code.contains(LICENCE_LAST_LINE)) {
-            String[] temp = code.split(LICENCE_LAST_LINE);
-            return temp[1].trim();
-        } else {
-            throw new ServiceException("Licence header is not in the correct format.\nGuide\t: " + file + "\nCode\t:\n"
-                    + code);
-        }
-    }
-
     /**
      * Get markdown code block with associated type of the code file.
      *
@@ -239,16 +328,6 @@ public class Utils {
         }
     }
 
-    /**
-     * Remove leading whitespaces of a given string.
-     *
-     * @param param string want to remove leading whitespaces
-     * @return string without leading whitespaces
-     */
-    private static String removeLeadingSpaces(String param) {
-        return param.replaceAll("^\\s+", EMPTY_STRING);
-    }
-
     /**
      * Get leading whitespaces of a given string.
      *
@@ -256,17 +335,12 @@ public class Utils {
      * @return leading whitespaces of the string
      */
     public static String getLeadingWhitespaces(String param) {
-        return param.replace(removeLeadingSpaces(param), EMPTY_STRING);
-    }
-
-    /**
-     * Get zip file name using the toml file path.
-     *
-     * @param tomlFile toml file
-     * @return zip file name
-     */
-    public static String getZipFileName(String tempDir, File tomlFile) {
-        return Paths.get(tempDir, "assets", "zip", tomlFile.getParentFile().getName()) + ".zip";
+        int end = 0;
+        // Same characters as `\s` of regular expressions.
+        while (end < param.length() && " \t\n\u000B\f\r".indexOf(param.charAt(end)) >= 0) {
+            end++;
+        }
+        return param.substring(0, end);
     }
 
     /**
@@ -276,11 +350,11 @@ public class Utils {
      * @return is image attachment line
      */
     public static boolean isImageAttachmentLine(String line) {
-        try {
-            return line.trim().substring(0, 2).equals("![") && line.contains("assets/img");
-        } catch (Exception e) {
-            return false;
+        int start = 0;
+        while (start < line.length() && line.charAt(start) <= ' ') {
+            start++;
         }
+        return line.startsWith("![", start) && line.contains("assets/img");
     }
 
     /**
@@ -297,6 +371,104 @@ public class Utils {
         return original;
     }
 
+    /**
+     * Get path of a file relative to a given directory. `/` is used as the separator regardless of the platform.
+     *
+     * @param directory base directory
+     * @param file      file inside the base directory
+     * @return relative path of the file
+     */
+    public static String getRelativePath(File directory, File file) {
+        return FilenameUtils.separatorsToUnix(directory.toPath().relativize(file.toPath()).toString());
+    }
+
+    /**
+     * List files of a directory in a sorted order.
+     *
+     * @param directory directory
+     * @return sorted files of the directory, an empty list if the directory cannot be listed
+     */
+    public static List<File> listSortedFiles(File directory) {
+        File[] listOfFiles = directory.listFiles();
+        if (listOfFiles == null) {
+            return new ArrayList<>();
+        }
+        Arrays.sort(listOfFiles);
+        return new ArrayList<>(Arrays.asList(listOfFiles));
+    }
+
+    /**
+     * Get SHA-256 hash of the content of a file.
+     *
+     * @param file file want to get the hash
+     * @return hex encoded hash of the file content
+     */
+    public static String getFileHash(File file) {
+        try (InputStream inputStream = new FileInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance(SHA_256);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                BuildMetrics.addBytesRead(read);
+            }
+            return toHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ServiceException("Error occurred when calculating the hash of the file: " + file.getPath(), e);
+        }
+    }
+
+    /**
+     * Normalize line endings of a given content to `\n`.
+     *
+     * @param content content having `\r\n`, `\r` or `\n` line endings
+     * @return content having `\n` line endings
+     */
+    public static String normalizeLineEndings(String content) {
+        if (content.indexOf('\r') < 0) {
+            return content;
+        }
+        return content.replace("\r\n", NEW_LINE).replace('\r', '\n');
+    }
+
+    /**
+     * Get SHA-256 hash of a string.
+     *
+     * @param content string want to get the hash
+     * @return hex encoded hash of the string
+     */
+    public static String getHash(String content) {
+        return getHash(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get SHA-256 hash of a byte array.
+     *
+     * @param content bytes want to get the hash
+     * @return hex encoded hash of the bytes
+     */
+    public static String getHash(byte[] content) {
+        try {
+            return toHex(MessageDigest.getInstance(SHA_256).digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new ServiceException("Error occurred when calculating the hash.", e);
+        }
+    }
+
+    /**
+     * Convert bytes to a hex string.
+     *
+     * @param bytes bytes
+     * @return hex string
+     */
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
     /**
      * Add previous directory syntax `../` for a given string.
      *
@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.wso2.integration.ballerina.utils.DirectoryWalker;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests finding cyclic INCLUDE_MD inclusions with {@link IncludeGraph}.
+ */
+public class IncludeGraphTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCycle() throws IOException {
+        File docsDir = folder.getRoot();
+        write(docsDir, "guide/README.md", "# Guide", "<!-- INCLUDE_MD: ../first.md -->");
+        write(docsDir, "first.md", "First", "<!-- INCLUDE_MD: second.md -->");
+        write(docsDir, "second.md", "Second", "<!-- INCLUDE_MD: guide/../first.md -->");
+
+        IncludeGraph graph = IncludeGraph.build(docsDir);
+
+        assertEquals(Arrays.asList("first.md", "second.md", "first.md"), graph.findCycle());
+        try {
+            graph.validate();
+            fail("Cyclic inclusion is not reported");
+        } catch (ServiceException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(
+                    "first.md:2: Cyclic INCLUDE_MD inclusion: first.md -> second.md -> first.md"));
+        }
+    }
+
+    @Test
+    public void testSelfInclusion() throws IOException {
+        File docsDir = folder.getRoot();
+        write(docsDir, "guide/README.md", "# Guide", "<!-- INCLUDE_MD: README.md -->");
+
+        assertEquals(Arrays.asList("guide/README.md", "guide/README.md"), IncludeGraph.build(docsDir).findCycle());
+    }
+
+    @Test
+    public void testSharedInclusionIsNotCycle() throws IOException {
+        File docsDir = folder.getRoot();
+        write(docsDir, "guide/README.md", "# Guide", "<!-- INCLUDE_MD: ../first.md -->",
+                "<!-- INCLUDE_MD: ../second.md -->");
+        write(docsDir, "first.md", "First", "<!-- INCLUDE_MD: shared.md -->");
+        write(docsDir, "second.md", "Second", "<!-- INCLUDE_MD: shared.md -->");
+        write(docsDir, "shared.md", "Shared");
+
+        IncludeGraph graph = IncludeGraph.build(docsDir);
+
+        assertEquals(Collections.emptyList(), graph.findCycle());
+        graph.validate();
+        assertEquals(new TreeSet<>(Arrays.asList("first.md", "guide/README.md", "second.md",
+                "shared.md")), graph.getAffectedPages("shared.md"));
+    }
+
+    @Test
+    public void testCycleOfConcurrentlyBuiltGraph() throws IOException {
+        File docsDir = folder.getRoot();
+        write(docsDir, "a/README.md", "# A", "<!-- INCLUDE_MD: ../b/README.md -->");
+        write(docsDir, "b/README.md", "# B", "<!-- INCLUDE_MD: ../c/README.md -->");
+        write(docsDir, "c/README.md", "# C", "<!-- INCLUDE_MD: ../a/README.md -->");
+
+        try (DirectoryWalker walker = new DirectoryWalker(4)) {
+            assertEquals(Arrays.asList("a/README.md", "b/README.md", "c/README.md", "a/README.md"),
+                    IncludeGraph.build(docsDir, walker).findCycle());
+        }
+    }
+
+    private static void write(File docsDir, String path, String... lines) throws IOException {
+        File file = new File(docsDir, path);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
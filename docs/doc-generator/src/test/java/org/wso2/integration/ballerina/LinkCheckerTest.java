@@ -0,0 +1,137 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.wso2.integration.ballerina.utils.DirectoryWalker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests heading ids and link resolution of {@link LinkChecker}.
+ */
+public class LinkCheckerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testGetHeadingId() {
+        assertEquals("hello-world", LinkChecker.getHeadingId("Hello World"));
+        assertEquals("invoke-httpclient", LinkChecker.getHeadingId("Invoke `http:Client`"));
+        assertEquals("step-1-get-the-code", LinkChecker.getHeadingId("Step 1 - Get the **code**"));
+        assertEquals("see-the-guide", LinkChecker.getHeadingId("See [the guide](../guide.md)"));
+        assertEquals("deploy-on-docker", LinkChecker.getHeadingId("<a name=\"docker\"></a>Deploy on Docker"));
+        assertEquals("cafe-resume", LinkChecker.getHeadingId("Café Résumé"));
+        assertEquals("whats-new", LinkChecker.getHeadingId("What's new?"));
+    }
+
+    @Test
+    public void testRelativeLinks() throws IOException {
+        SiteTree site = new SiteTree();
+        addPage(site, "learn/a.md", "# A",
+                "[file](b.md)",
+                "[url](../b/)",
+                "[index](../)",
+                "[image](../assets/img/c.png)",
+                "[missing](c.md)",
+                "[missing url](../c/)");
+        addPage(site, "learn/b.md", "# B");
+        addPage(site, "learn/index.md", "# Learn");
+        site.addContent("assets/img/c.png", new byte[0]);
+
+        assertEquals(Arrays.asList(
+                "learn/a.md:6: dangling link: c.md",
+                "learn/a.md:7: dangling link: ../c/"), check(site, Collections.emptySet()));
+    }
+
+    @Test
+    public void testFragments() throws IOException {
+        SiteTree site = new SiteTree();
+        addPage(site, "a.md", "# Page A",
+                "## Setup",
+                "## Setup",
+                "<a name=\"docker\"></a>",
+                "[heading](b.md#run-the-service)",
+                "[second heading](#setup_1)",
+                "[explicit](#docker)",
+                "[encoded](b.md#run%2Dthe-service)",
+                "[missing](b.md#deploy)",
+                "[missing here](#setup_2)");
+        addPage(site, "b.md", "# Page B", "## Run the `service`");
+
+        // Dangling links are sorted as strings.
+        assertEquals(Arrays.asList(
+                "a.md:10: missing anchor: #setup_2",
+                "a.md:9: missing anchor: b.md#deploy"), check(site, Collections.emptySet()));
+    }
+
+    @Test
+    public void testLinksNotChecked() throws IOException {
+        SiteTree site = new SiteTree();
+        addPage(site, "a.md", "# A",
+                "[external](https://ballerina.io/missing)",
+                "[mail](mailto:info@wso2.com)",
+                "[absolute](/missing/)",
+                "[above root](../../missing/)",
+                "```",
+                "[in code block](missing.md)",
+                "```",
+                "`[inline code](missing.md)`");
+
+        assertEquals(Collections.emptyList(), check(site, Collections.emptySet()));
+    }
+
+    @Test
+    public void testTemplateFilesAndIncludedPages() throws IOException {
+        File templateDir = folder.newFolder("template");
+        new File(templateDir, "css").mkdirs();
+        Files.write(new File(templateDir, "css/extra.css").toPath(), new byte[0]);
+        SiteTree site = new SiteTree();
+        addPage(site, "a.md", "# A", "[style](css/extra.css)", "<img src=\"missing.png\">");
+        // Links of included pages are relative to the including pages, so they are not checked.
+        addPage(site, "included.md", "# Included", "[missing](missing.md)");
+
+        try (DirectoryWalker walker = new DirectoryWalker(2)) {
+            assertEquals(Collections.singletonList("a.md:3: dangling link: missing.png"),
+                    LinkChecker.build(site, templateDir, Collections.singleton("included.md"), walker).check(walker)
+                            .getDanglingLinks());
+        }
+    }
+
+    private static void addPage(SiteTree site, String path, String... lines) {
+        site.addContent(path, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> check(SiteTree site, Set<String> includedPages) throws IOException {
+        try (DirectoryWalker walker = new DirectoryWalker(2)) {
+            return LinkChecker.build(site, folder.newFolder(), includedPages, walker).check(walker).getDanglingLinks();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina;
+
+import org.junit.Test;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the paths of the pages and zip files of {@link SiteTree}.
+ */
+public class SiteTreeTest {
+    @Test
+    public void testGetPageOutputPath() {
+        assertEquals("learn/tutorials/hello-world/1.md",
+                SiteTree.getPageOutputPath("learn/tutorials/hello-world/README.md"));
+        assertEquals("1.md", SiteTree.getPageOutputPath("README.md"));
+        assertEquals("learn/tutorials/hello-world/guide.md",
+                SiteTree.getPageOutputPath("learn/tutorials/hello-world/guide.md"));
+        assertEquals("learn/readme.md", SiteTree.getPageOutputPath("learn/readme.md"));
+        assertEquals("learn/README.md.bak", SiteTree.getPageOutputPath("learn/README.md.bak"));
+        assertEquals("learn/NOT_README.md", SiteTree.getPageOutputPath("learn/NOT_README.md"));
+    }
+
+    @Test
+    public void testGetZipOutputPath() {
+        assertEquals("assets/zip/hello-world.zip",
+                SiteTree.getZipOutputPath(new File("learn/tutorials/hello-world")));
+    }
+
+    @Test(expected = ServiceException.class)
+    public void testPageOutputPathsOfSameDirectoryCollide() {
+        SiteTree site = new SiteTree();
+        site.addContent(SiteTree.getPageOutputPath("learn/README.md"), new byte[0]);
+        site.addContent(SiteTree.getPageOutputPath("learn/1.md"), new byte[0]);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.directive;
+
+import org.junit.Test;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the directive tags registered in a {@link DirectiveRegistry} being found by the compiled
+ * {@link DirectiveScanner}.
+ */
+public class DirectiveScannerTest {
+    private static final DirectiveScanner<String> INCLUDES = new DirectiveRegistry<String>()
+            .register("INCLUDE_CODE:", "code")
+            .register("INCLUDE_CODE_SEGMENT:", "segment")
+            .register("INCLUDE_MD:", "md")
+            .compile();
+
+    @Test
+    public void testScan() {
+        assertEquals("code", INCLUDES.scan("<!-- INCLUDE_CODE: src/hello.bal -->"));
+        assertEquals("segment", INCLUDES.scan("<!-- INCLUDE_CODE_SEGMENT: { file: a.bal, segment: s } -->"));
+        assertEquals("md", INCLUDES.scan("<!-- INCLUDE_MD: ../get-the-code.md -->"));
+        assertNull(INCLUDES.scan("INCLUDE_CODE INCLUDE_MD INCLUDE_CODE_SEGMENT"));
+        assertNull(INCLUDES.scan(""));
+    }
+
+    @Test
+    public void testPrecedence() {
+        assertEquals("code", INCLUDES.scan("INCLUDE_MD: a.md INCLUDE_CODE: a.bal"));
+        assertEquals("segment", INCLUDES.scan("INCLUDE_MD: a.md INCLUDE_CODE_SEGMENT: a.bal"));
+    }
+
+    @Test
+    public void testTagEndingInsideAnotherTag() {
+        DirectiveScanner<String> longFirst = new DirectiveRegistry<String>()
+                .register("abcd", "abcd")
+                .register("bc", "bc")
+                .compile();
+        DirectiveScanner<String> shortFirst = new DirectiveRegistry<String>()
+                .register("bc", "bc")
+                .register("abcd", "abcd")
+                .compile();
+
+        assertEquals("abcd", longFirst.scan("xabcdx"));
+        assertEquals("bc", longFirst.scan("xabcx"));
+        // The short tag is found through the failure transition of the longer tag.
+        assertEquals("bc", shortFirst.scan("xabcdx"));
+    }
+
+    @Test
+    public void testFailureTransitions() {
+        DirectiveScanner<String> scanner = new DirectiveRegistry<String>()
+                .register("aab", "aab")
+                .compile();
+
+        assertEquals("aab", scanner.scan("aaab"));
+        assertEquals("aab", scanner.scan("abaaab"));
+        assertNull(scanner.scan("abaac"));
+    }
+
+    @Test
+    public void testNonAsciiCharacters() {
+        assertEquals("md", INCLUDES.scan("<!-- é中 INCLUDE_MD: a.md -->"));
+        assertNull(INCLUDES.scan("INCLUDE_éMD: a.md"));
+        assertEquals("md", INCLUDES.scan("é INCLUDE_MD: a.md".getBytes(StandardCharsets.UTF_8)));
+        assertNull(INCLUDES.scan("INCLUDE_éMD: a.md".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testScanOfCharSequence() {
+        // Text other than strings is scanned without searching for the first character of the tags.
+        assertEquals("md", INCLUDES.scan(new StringBuilder("<!-- INCLUDE_MD: a.md -->")));
+        assertNull(INCLUDES.scan(new StringBuilder("<!-- INCLUDE_MD a.md -->")));
+    }
+
+    @Test
+    public void testScanOfRegion() {
+        String text = "INCLUDE_MD: a.md\nINCLUDE_CODE: a.bal\n";
+        DirectiveMatch<String> match = new DirectiveMatch<>();
+
+        assertEquals("md", INCLUDES.scan(text, 0, text.indexOf('\n'), match));
+        assertEquals("a.md", match.getArgument());
+        assertEquals("code", INCLUDES.scan(text, text.indexOf('\n') + 1, text.length(), match));
+        assertEquals("a.bal", match.getArgument());
+        assertNull(INCLUDES.scan(text, 1, text.indexOf('\n'), match));
+    }
+
+    @Test
+    public void testMatch() {
+        String line = "  <!-- INCLUDE_CODE:  src/hello.bal  -->  ";
+        DirectiveMatch<String> match = new DirectiveMatch<>();
+
+        assertEquals("code", INCLUDES.scan(line, match));
+        assertEquals("code", match.getDirective());
+        assertEquals(line.indexOf("INCLUDE_CODE:"), match.getTagStart());
+        assertEquals(line.indexOf("INCLUDE_CODE:") + "INCLUDE_CODE:".length(), match.getTagEnd());
+        assertEquals("src/hello.bal", match.getArgument("-->"));
+        assertEquals("src/hello.bal  -->", match.getArgument());
+        // The argument ends at the end of the line if there is no terminator.
+        assertEquals("src/hello.bal  -->", match.getArgument("}"));
+    }
+
+    @Test(expected = ServiceException.class)
+    public void testEmptyTag() {
+        new DirectiveRegistry<String>().register("", "empty");
+    }
+
+    @Test(expected = ServiceException.class)
+    public void testNonAsciiTag() {
+        new DirectiveRegistry<String>().register("INCLUDE_é:", "tag");
+    }
+
+    @Test(expected = ServiceException.class)
+    public void testDuplicateTag() {
+        new DirectiveRegistry<String>().register("INCLUDE_MD:", "md").register("INCLUDE_MD:", "md");
+    }
+}
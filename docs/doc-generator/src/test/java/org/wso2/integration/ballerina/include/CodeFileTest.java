@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integration.ballerina.include;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.wso2.integration.ballerina.utils.ServiceException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests locating the code and indexing the code segments of {@link CodeFile}.
+ */
+public class CodeFileTest {
+    private static final String LICENCE = "// Copyright (c) 2019 WSO2 Inc.\n// under the License.\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static CodeFile codeFile(String content) {
+        return new CodeFile(content, 0, content.length());
+    }
+
+    @Test
+    public void testCodeWithoutLicenceHeader() {
+        String code = "import ballerina/http;\n\nservice hello on new http:Listener(9090) {\n}\n";
+        CodeFile codeFile = codeFile(LICENCE + "\n" + code + "\n");
+
+        assertTrue(codeFile.hasLicenceHeader());
+        assertEquals(code.trim(), codeFile.getCode("guide"));
+    }
+
+    @Test
+    public void testCodeEndsAtSecondLicenceHeader() {
+        CodeFile codeFile = codeFile(LICENCE + "int a = 1;\n" + LICENCE + "int b = 2;\n");
+
+        assertEquals("int a = 1;\n// Copyright (c) 2019 WSO2 Inc.", codeFile.getCode("guide"));
+    }
+
+    @Test(expected = ServiceException.class)
+    public void testCodeOfFileWithoutLicenceHeader() {
+        CodeFile codeFile = codeFile("int a = 1;\n");
+
+        assertFalse(codeFile.hasLicenceHeader());
+        codeFile.getCode("guide");
+    }
+
+    @Test
+    public void testSegments() {
+        CodeFile codeFile = codeFile(LICENCE + "import ballerina/io;\n"
+                + "// CODE-SEGMENT-BEGIN: segment_1\n"
+                + "int a = 1;\n"
+                + "    // CODE-SEGMENT-BEGIN: segment_2\n"
+                + "    int b = 2;\n"
+                + "    // CODE-SEGMENT-END: segment_2\n"
+                + "// CODE-SEGMENT-END: segment_1\n"
+                + "int c = 3;\n");
+
+        assertTrue(codeFile.hasSegment("segment_1"));
+        assertTrue(codeFile.hasSegment("segment_2"));
+        assertEquals("int a = 1;\n    // CODE-SEGMENT-BEGIN: segment_2\n    int b = 2;\n"
+                + "    // CODE-SEGMENT-END: segment_2", codeFile.getSegment("segment_1", "guide").trim());
+        assertEquals("int b = 2;", codeFile.getSegment("segment_2", "guide").trim());
+    }
+
+    @Test
+    public void testSegmentWithoutEndContinuesUntilEndOfCode() {
+        CodeFile codeFile = codeFile(LICENCE + "// CODE-SEGMENT-BEGIN: segment_1\nint a = 1;\nint b = 2;\n\n");
+
+        assertEquals("\nint a = 1;\nint b = 2;", codeFile.getSegment("segment_1", "guide"));
+    }
+
+    @Test
+    public void testFirstSegmentOfSameNameIsUsed() {
+        CodeFile codeFile = codeFile(LICENCE
+                + "// CODE-SEGMENT-BEGIN: segment_1\nint a = 1;\n// CODE-SEGMENT-END: segment_1\n"
+                + "// CODE-SEGMENT-BEGIN: segment_1\nint b = 2;\n// CODE-SEGMENT-END: segment_1\n");
+
+        assertEquals("int a = 1;", codeFile.getSegment("segment_1", "guide").trim());
+    }
+
+    @Test
+    public void testEndOfUnknownSegmentIsIgnored() {
+        CodeFile codeFile = codeFile(LICENCE + "// CODE-SEGMENT-END: segment_1\nint a = 1;\n");
+
+        assertFalse(codeFile.hasSegment("segment_1"));
+    }
+
+    @Test(expected = ServiceException.class)
+    public void testMissingSegment() {
+        codeFile(LICENCE + "int a = 1;\n").getSegment("segment_1", "guide");
+    }
+
+    @Test
+    public void testSegmentsOfMappedContent() throws IOException {
+        String content = LICENCE + "// CODE-SEGMENT-BEGIN: segment_1\r\nint a = 1;\r\nint b = 2;\r\n"
+                + "// CODE-SEGMENT-END: segment_1\r\n";
+        File file = folder.newFile("service.bal");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        CodeFile codeFile = new CodeFile(MappedContent.map(file), file.lastModified(), file.length());
+
+        assertTrue(codeFile.hasLicenceHeader());
+        assertEquals("int a = 1;\nint b = 2;", codeFile.getSegment("segment_1", "guide").trim());
+        assertEquals(codeFile(content).getCode("guide").replace("\r\n", "\n"), codeFile.getCode("guide"));
+    }
+}
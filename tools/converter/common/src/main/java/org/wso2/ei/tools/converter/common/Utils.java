@@ -21,10 +21,22 @@ package org.wso2.ei.tools.converter.common;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Class containing util functions
@@ -32,14 +44,27 @@ import java.nio.file.Paths;
 public class Utils {
 
     private static final String GENERATED_BALLERINA_SOURCE = "generated-ballerina-source";
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int HASH_BUFFER_SIZE = 8192;
 
     public static void writeToBalFile(String filePath, String content) throws IOException {
-        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+        try (BufferedWriter writer = newBalFileWriter(filePath)) {
             writer.write(content);
             writer.flush();
         }
     }
 
+    /**
+     * Open a buffered writer to a ballerina source file. The file is created or truncated.
+     *
+     * @param filePath path of the ballerina source file
+     * @return writer of the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static BufferedWriter newBalFileWriter(String filePath) throws IOException {
+        return Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8);
+    }
+
     public static Path getPath(File source, String destination) {
         Path path;
         if (destination == null || destination.isEmpty()) {
@@ -53,4 +78,104 @@ public class Utils {
         }
         return path;
     }
+
+    /**
+     * Get the SHA-256 hash of the content of a file.
+     *
+     * @param file file to be hashed
+     * @return hex encoded hash
+     * @throws IOException if the file cannot be read
+     */
+    public static String getFileHash(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        updateDigest(digest, file, new byte[HASH_BUFFER_SIZE]);
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Get the SHA-256 hash of the code a class is loaded from. This is the hash of the jar file of the class, or of the
+     * paths and the content of all the files of its class directory.
+     *
+     * @param type class
+     * @return hex encoded hash
+     * @throws IOException if the code of the class cannot be located or read
+     */
+    public static String getCodeSourceHash(Class<?> type) throws IOException {
+        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            throw new IOException("Unable to locate the code of " + type.getName());
+        }
+        Path location;
+        try {
+            location = Paths.get(codeSource.getLocation().toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new IOException("Unable to locate the code of " + type.getName(), e);
+        }
+        if (!Files.isDirectory(location)) {
+            return getFileHash(location);
+        }
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(location)) {
+            files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        for (Path file : files) {
+            // Paths are hashed as well, so that moving a class changes the hash.
+            digest.update(location.relativize(file).toString().replace(File.separatorChar, '/')
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            updateDigest(digest, file, buffer);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported", e);
+        }
+    }
+
+    private static void updateDigest(MessageDigest digest, Path file, byte[] buffer) throws IOException {
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file), digest)) {
+            while (inputStream.read(buffer) != -1) {
+                // The content is hashed by the digest stream as it is read.
+            }
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hash = new StringBuilder();
+        for (byte b : bytes) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Get a uniquely named temporary file in the directory of a given file. The temporary file is not created.
+     *
+     * @param file file
+     * @return path of the temporary file
+     */
+    public static Path getTempSibling(Path file) {
+        return file.resolveSibling("." + file.getFileName() + "." + UUID.randomUUID() + ".tmp");
+    }
+
+    /**
+     * Move a file replacing the target file. The move is atomic unless the file system does not support atomic moves.
+     *
+     * @param src  file to move
+     * @param dest target file
+     * @throws IOException if moving the file fails
+     */
+    public static void moveAtomically(Path src, Path dest) throws IOException {
+        try {
+            Files.move(src, dest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(src, dest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
 }
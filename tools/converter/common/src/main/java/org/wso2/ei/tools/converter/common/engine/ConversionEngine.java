@@ -0,0 +1,384 @@
+/*
+ *     Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *     WSO2 Inc. licenses this file to you under the Apache License,
+ *     Version 2.0 (the "License"); you may not use this file except
+ *     in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package org.wso2.ei.tools.converter.common.engine;
+
+import org.ballerinalang.model.BallerinaFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.ei.tools.converter.common.Utils;
+import org.wso2.ei.tools.converter.common.generator.BallerinaSourceGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link ConversionEngine} converts all the configuration files of a source tree to ballerina source files. Each file
+ * is read, mapped to a ballerina model, and generated and written as ballerina source on a bounded executor, so the
+ * files are converted concurrently on all the cores while only a few files are in memory at a time. Results and
+ * warnings of the files are collected and summarized once all the files are converted.
+ * <p>
+ * Conversions of a source tree are incremental. A {@link ConversionManifest} in the target directory records the
+ * files converted by the previous conversion, and a file is skipped while the file, the converter and the ballerina
+ * source file written from it are unchanged. Ballerina source files of removed source files are removed.
+ *
+ * @param <T> type of the configuration model of the dialect
+ */
+public class ConversionEngine<T> {
+
+    private static Logger logger = LoggerFactory.getLogger(ConversionEngine.class);
+
+    private static final String BAL_EXTENSION = ".bal";
+    // Tasks waiting for a thread are limited, so that the source tree is not queued up as a whole.
+    private static final int QUEUED_TASKS_PER_THREAD = 2;
+
+    private final Dialect<T> dialect;
+    private final int threads;
+
+    /**
+     * Create an engine which uses a thread per available processor.
+     *
+     * @param dialect dialect of the source files
+     */
+    public ConversionEngine(Dialect<T> dialect) {
+        this(dialect, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ConversionEngine(Dialect<T> dialect, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Invalid thread count: " + threads);
+        }
+        this.dialect = dialect;
+        this.threads = threads;
+    }
+
+    /**
+     * Convert all the configuration files of a source tree. Ballerina source files are written to the same relative
+     * directories inside the target directory. Files unchanged since the previous conversion into the target directory
+     * are skipped, and ballerina source files of the source files removed since then are removed.
+     *
+     * @param sourceDir source directory
+     * @param targetDir target directory
+     * @return results of the files in the order of their paths, followed by the results of the removed files
+     * @throws IOException if the source tree cannot be walked
+     */
+    public List<ConversionResult> convert(Path sourceDir, Path targetDir) throws IOException {
+        List<File> sourceFiles;
+        try (Stream<Path> paths = Files.walk(sourceDir)) {
+            sourceFiles = paths.filter(Files::isRegularFile).sorted().map(Path::toFile).filter(dialect::accept)
+                    .collect(Collectors.toList());
+        }
+        logger.info("Converting " + sourceFiles.size() + " " + dialect.getName() + " file(s) with " + threads
+                + " thread(s)");
+
+        ConversionManifest manifest = ConversionManifest.load(targetDir);
+        String converterVersion = getConverterVersion();
+        // Tasks rejected by the full queue run on the calling thread, which slows down the submission.
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUED_TASKS_PER_THREAD), new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            Map<File, List<File>> sourceFilesByTarget = new HashMap<>();
+            for (File sourceFile : sourceFiles) {
+                sourceFilesByTarget.computeIfAbsent(getTargetFile(sourceDir, sourceFile, targetDir),
+                        targetFile -> new ArrayList<>()).add(sourceFile);
+            }
+            List<Future<ConversionResult>> futures = new ArrayList<>();
+            Set<String> sources = new HashSet<>();
+            for (File sourceFile : sourceFiles) {
+                File targetFile = getTargetFile(sourceDir, sourceFile, targetDir);
+                String source = ConversionManifest.getRelativePath(sourceDir, sourceFile.toPath());
+                sources.add(source);
+                List<File> targetSourceFiles = sourceFilesByTarget.get(targetFile);
+                if (targetSourceFiles.size() > 1) {
+                    // Files of a directory with the same name up to the first '.' have the same ballerina source
+                    // file. None of them is converted, instead of having concurrent tasks write the same file.
+                    futures.add(CompletableFuture.completedFuture(failDuplicateTarget(sourceFile, source, targetFile,
+                            targetSourceFiles, manifest)));
+                } else {
+                    futures.add(executor.submit(() -> convertIfChanged(sourceFile, source, targetFile, targetDir,
+                            manifest, converterVersion)));
+                }
+            }
+            List<ConversionResult> results = new ArrayList<>();
+            for (Future<ConversionResult> future : futures) {
+                results.add(getResult(future));
+            }
+            Set<Path> targetFiles = sourceFilesByTarget.keySet().stream().map(File::toPath)
+                    .collect(Collectors.toSet());
+            results.addAll(removeStaleTargets(sourceDir, targetDir, manifest, sources, targetFiles));
+            manifest.save();
+            logSummary(results);
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Convert a configuration file of a source tree unless the file is unchanged since the previous conversion. The
+     * entry of the file is put to the manifest for the next conversion.
+     *
+     * @param sourceFile       source file
+     * @param source           path of the source file relative to the source directory
+     * @param targetFile       ballerina source file to be written
+     * @param targetDir        target directory
+     * @param manifest         manifest of the target directory
+     * @param converterVersion version of the converter
+     * @return result of the conversion
+     */
+    private ConversionResult convertIfChanged(File sourceFile, String source, File targetFile, Path targetDir,
+                                              ConversionManifest manifest, String converterVersion) {
+        ConversionManifest.Entry previousEntry = manifest.getPreviousEntry(source);
+        String target = ConversionManifest.getRelativePath(targetDir, targetFile.toPath());
+        String sourceHash;
+        try {
+            sourceHash = Utils.getFileHash(sourceFile.toPath());
+            if (previousEntry != null && sourceHash.equals(previousEntry.getSourceHash())
+                    && converterVersion.equals(previousEntry.getConverterVersion())
+                    && target.equals(previousEntry.getTarget()) && targetFile.isFile()
+                    && Utils.getFileHash(targetFile.toPath()).equals(previousEntry.getTargetHash())) {
+                manifest.put(source, previousEntry);
+                logger.debug("Skipping unchanged file " + sourceFile.getPath());
+                return new ConversionResult(sourceFile, targetFile, ConversionResult.Status.SKIPPED,
+                        Collections.emptyList(), null);
+            }
+        } catch (IOException e) {
+            logger.error("Unable to read " + sourceFile.getPath(), e);
+            // The previous entry is kept so that its ballerina source file is still tracked by the next conversion.
+            if (previousEntry != null) {
+                manifest.put(source, previousEntry);
+            }
+            return new ConversionResult(sourceFile, targetFile, ConversionResult.Status.FAILED,
+                    Collections.emptyList(), e);
+        }
+
+        ConversionResult result = convertFile(sourceFile, targetFile);
+        if (result.getStatus() == ConversionResult.Status.CONVERTED) {
+            try {
+                manifest.put(source, new ConversionManifest.Entry(sourceHash, converterVersion, target,
+                        Utils.getFileHash(targetFile.toPath())));
+            } catch (IOException e) {
+                // The file is converted again by the next conversion, as it has no entry.
+                logger.warn("Unable to record " + targetFile.getPath() + " in the conversion manifest", e);
+            }
+        } else if (previousEntry != null) {
+            // The previous entry is kept so that its ballerina source file is removed with the source file later. The
+            // source hash no longer matches, so the file is converted again by the next conversion.
+            manifest.put(source, previousEntry);
+        }
+        return result;
+    }
+
+    /**
+     * Fail a source file whose ballerina source file is also the ballerina source file of other source files. The
+     * previous entry of the file is kept, so that its ballerina source file is still removed with the source file.
+     *
+     * @param sourceFile        source file
+     * @param source            path of the source file relative to the source directory
+     * @param targetFile        ballerina source file of the source file
+     * @param targetSourceFiles all the source files of the ballerina source file
+     * @param manifest          manifest of the target directory
+     * @return failed result of the source file
+     */
+    private static ConversionResult failDuplicateTarget(File sourceFile, String source, File targetFile,
+                                                        List<File> targetSourceFiles, ConversionManifest manifest) {
+        String otherSourceFiles = targetSourceFiles.stream().filter(file -> !file.equals(sourceFile))
+                .map(File::getName).collect(Collectors.joining(", "));
+        IOException error = new IOException(targetFile.getName() + " is also the ballerina source file of "
+                + otherSourceFiles + ", rename one of the files");
+        logger.error("Unable to generate ballerina file from " + sourceFile.getPath() + ": " + error.getMessage());
+        ConversionManifest.Entry previousEntry = manifest.getPreviousEntry(source);
+        if (previousEntry != null) {
+            manifest.put(source, previousEntry);
+        }
+        return new ConversionResult(sourceFile, targetFile, ConversionResult.Status.FAILED, Collections.emptyList(),
+                error);
+    }
+
+    /**
+     * Remove the ballerina source files of the source files which were converted by the previous conversion but no
+     * longer exist. A ballerina source file modified after it was written, or which is the ballerina source file of a
+     * current source file, is kept.
+     *
+     * @param sourceDir   source directory
+     * @param targetDir   target directory
+     * @param manifest    manifest of the target directory
+     * @param sources     paths of the current source files relative to the source directory
+     * @param targetFiles ballerina source files of the current source files
+     * @return results of the removed files
+     */
+    private static List<ConversionResult> removeStaleTargets(Path sourceDir, Path targetDir,
+                                                             ConversionManifest manifest, Set<String> sources,
+                                                             Set<Path> targetFiles) {
+        List<ConversionResult> results = new ArrayList<>();
+        for (Map.Entry<String, ConversionManifest.Entry> entry : manifest.getPreviousEntries().entrySet()) {
+            if (sources.contains(entry.getKey())) {
+                continue;
+            }
+            File sourceFile = sourceDir.resolve(entry.getKey()).toFile();
+            Path targetFile = targetDir.resolve(entry.getValue().getTarget());
+            if (targetFiles.contains(targetFile)) {
+                continue;
+            }
+            try {
+                if (Files.isRegularFile(targetFile)
+                        && !Utils.getFileHash(targetFile).equals(entry.getValue().getTargetHash())) {
+                    logger.warn("Keeping modified " + targetFile + " of removed file " + sourceFile.getPath());
+                    continue;
+                }
+                Files.deleteIfExists(targetFile);
+                logger.info(targetFile.getFileName() + " removed.");
+                results.add(new ConversionResult(sourceFile, targetFile.toFile(), ConversionResult.Status.REMOVED,
+                        Collections.emptyList(), null));
+            } catch (IOException e) {
+                logger.error("Unable to remove " + targetFile, e);
+                results.add(new ConversionResult(sourceFile, targetFile.toFile(), ConversionResult.Status.FAILED,
+                        Collections.emptyList(), e));
+            }
+        }
+        results.sort((first, second) -> first.getSource().compareTo(second.getSource()));
+        return results;
+    }
+
+    /**
+     * Convert a single configuration file. Failures are not thrown but returned in the result.
+     *
+     * @param sourceFile source file
+     * @param targetFile ballerina source file to be written
+     * @return result of the conversion
+     */
+    public ConversionResult convertFile(File sourceFile, File targetFile) {
+        List<String> warnings = new ArrayList<>();
+        try {
+            T config = dialect.read(sourceFile, warnings);
+            BallerinaFile ballerinaFile = dialect.buildModel(config, warnings);
+            File targetDir = targetFile.getAbsoluteFile().getParentFile();
+            if (targetDir != null) {
+                Files.createDirectories(targetDir.toPath());
+            }
+            new BallerinaSourceGenerator().generate(ballerinaFile, targetFile.getPath());
+            if (!warnings.isEmpty()) {
+                logger.warn("Converted " + sourceFile.getName() + " with warnings:");
+                warnings.forEach(warning -> logger.warn("\t" + warning));
+            }
+            logger.info(targetFile.getName() + " created successfully.");
+            return new ConversionResult(sourceFile, targetFile, ConversionResult.Status.CONVERTED, warnings, null);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Unable to generate ballerina file from " + sourceFile.getPath(), e);
+            return new ConversionResult(sourceFile, targetFile, ConversionResult.Status.FAILED, warnings, e);
+        }
+    }
+
+    /**
+     * Get name of the ballerina source file of a configuration file, which is the name up to the first `.` with the
+     * `.bal` extension.
+     *
+     * @param sourceFileName name of the configuration file
+     * @return name of the ballerina source file
+     */
+    public static String getBalFileName(String sourceFileName) {
+        int extensionIndex = sourceFileName.indexOf('.');
+        return (extensionIndex < 0 ? sourceFileName : sourceFileName.substring(0, extensionIndex)) + BAL_EXTENSION;
+    }
+
+    /**
+     * Get the version of the engine and the dialect. The engine version is the hash of the code of the common layer,
+     * which generates the ballerina source. If a version cannot be determined, a version that no previous conversion
+     * has is used, so that all the files are converted again.
+     */
+    private String getConverterVersion() {
+        try {
+            return Utils.getCodeSourceHash(ConversionEngine.class) + "/" + dialect.getName() + "/"
+                    + dialect.getVersion();
+        } catch (IOException e) {
+            logger.warn("Unable to determine the converter version, all the files are converted again", e);
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    private static File getTargetFile(Path sourceDir, File sourceFile, Path targetDir) {
+        Path relativeDir = sourceDir.relativize(sourceFile.toPath()).getParent();
+        Path targetFileDir = relativeDir == null ? targetDir : targetDir.resolve(relativeDir);
+        return targetFileDir.resolve(getBalFileName(sourceFile.getName())).toFile();
+    }
+
+    private static ConversionResult getResult(Future<ConversionResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Conversion was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error occurred while converting a file", e.getCause());
+        }
+    }
+
+    private void logSummary(List<ConversionResult> results) {
+        int converted = 0;
+        int skipped = 0;
+        int removed = 0;
+        int failed = 0;
+        int warnings = 0;
+        for (ConversionResult result : results) {
+            switch (result.getStatus()) {
+            case CONVERTED:
+                converted++;
+                break;
+            case SKIPPED:
+                skipped++;
+                break;
+            case REMOVED:
+                removed++;
+                break;
+            default:
+                failed++;
+                break;
+            }
+            warnings += result.getWarnings().size();
+        }
+        logger.info(dialect.getName() + " conversion summary: " + converted + " converted, " + skipped
+                + " skipped as unchanged, " + removed + " removed, " + failed + " failed, with " + warnings
+                + " warning(s)");
+        if (failed > 0) {
+            logger.error("Failed to convert " + failed + " file(s):");
+            for (ConversionResult result : results) {
+                if (result.getStatus() == ConversionResult.Status.FAILED) {
+                    logger.error("\t" + result.getSource().getPath() + ": " + result.getError().getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ *     Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *     WSO2 Inc. licenses this file to you under the Apache License,
+ *     Version 2.0 (the "License"); you may not use this file except
+ *     in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package org.wso2.ei.tools.converter.common.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.ei.tools.converter.common.Utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ConversionManifest} records the source files converted into a target directory, so that converting the same
+ * source tree again only converts the files which changed. Each source file has an entry with the hash of the source
+ * file, the version of the converter and the path and hash of the ballerina source file written from it.
+ * <p>
+ * The manifest is a tab separated text file kept in the target directory. Entries of the previous conversion are read
+ * when the manifest is loaded, and only the entries put during the current conversion are saved.
+ */
+class ConversionManifest {
+
+    private static Logger logger = LoggerFactory.getLogger(ConversionManifest.class);
+
+    static final String MANIFEST_FILE = ".conversion-manifest";
+    private static final String HEADER = "# source\tsource hash\tconverter version\ttarget\ttarget hash";
+    private static final String SEPARATOR = "\t";
+    private static final int FIELD_COUNT = 5;
+
+    private final Path manifestFile;
+    private final Map<String, Entry> previousEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private ConversionManifest(Path manifestFile, Map<String, Entry> previousEntries) {
+        this.manifestFile = manifestFile;
+        this.previousEntries = previousEntries;
+    }
+
+    /**
+     * Load the manifest of a target directory. The manifest is empty if the directory has no manifest yet. Malformed
+     * lines are ignored, so their source files are converted again.
+     *
+     * @param targetDir target directory
+     * @return manifest
+     * @throws IOException if the manifest cannot be read
+     */
+    static ConversionManifest load(Path targetDir) throws IOException {
+        Path manifestFile = targetDir.resolve(MANIFEST_FILE);
+        Map<String, Entry> previousEntries = new HashMap<>();
+        if (Files.isRegularFile(manifestFile)) {
+            for (String line : Files.readAllLines(manifestFile, StandardCharsets.UTF_8)) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(SEPARATOR, -1);
+                if (fields.length != FIELD_COUNT) {
+                    logger.warn("Ignoring malformed line of " + manifestFile + ": " + line);
+                    continue;
+                }
+                previousEntries.put(fields[0], new Entry(fields[1], fields[2], fields[3], fields[4]));
+            }
+        }
+        return new ConversionManifest(manifestFile, previousEntries);
+    }
+
+    /**
+     * Get the entry of a source file recorded by the previous conversion.
+     *
+     * @param source path of the source file relative to the source directory
+     * @return entry, null if the source file was not converted before
+     */
+    Entry getPreviousEntry(String source) {
+        return previousEntries.get(source);
+    }
+
+    Map<String, Entry> getPreviousEntries() {
+        return Collections.unmodifiableMap(previousEntries);
+    }
+
+    /**
+     * Record the entry of a source file for the current conversion. Entries are put concurrently by the conversion
+     * tasks.
+     *
+     * @param source path of the source file relative to the source directory
+     * @param entry  entry of the source file
+     */
+    void put(String source, Entry entry) {
+        entries.put(source, entry);
+    }
+
+    /**
+     * Save the entries of the current conversion. The manifest is written to a temporary file first and moved over the
+     * previous manifest, so that an interrupted save never leaves a partially written manifest.
+     *
+     * @throws IOException if the manifest cannot be written
+     */
+    void save() throws IOException {
+        Files.createDirectories(manifestFile.getParent());
+        Path tempFile = Utils.getTempSibling(manifestFile);
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                for (Map.Entry<String, Entry> entry : new TreeMap<>(entries).entrySet()) {
+                    Entry value = entry.getValue();
+                    writer.write(String.join(SEPARATOR, entry.getKey(), value.getSourceHash(),
+                            value.getConverterVersion(), value.getTarget(), value.getTargetHash()));
+                    writer.newLine();
+                }
+            }
+            Utils.moveAtomically(tempFile, manifestFile);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Get the path of a file relative to a directory with {@code /} separators, so that the manifest can be used on
+     * every platform.
+     *
+     * @param directory directory
+     * @param file      file inside the directory
+     * @return relative path
+     */
+    static String getRelativePath(Path directory, Path file) {
+        List<String> names = new ArrayList<>();
+        for (Path name : directory.relativize(file)) {
+            names.add(name.toString());
+        }
+        return String.join("/", names);
+    }
+
+    /**
+     * Entry of a converted source file.
+     */
+    static class Entry {
+        private final String sourceHash;
+        private final String converterVersion;
+        private final String target;
+        private final String targetHash;
+
+        Entry(String sourceHash, String converterVersion, String target, String targetHash) {
+            this.sourceHash = sourceHash;
+            this.converterVersion = converterVersion;
+            this.target = target;
+            this.targetHash = targetHash;
+        }
+
+        String getSourceHash() {
+            return sourceHash;
+        }
+
+        String getConverterVersion() {
+            return converterVersion;
+        }
+
+        /**
+         * Get the path of the ballerina source file relative to the target directory.
+         *
+         * @return path of the ballerina source file
+         */
+        String getTarget() {
+            return target;
+        }
+
+        String getTargetHash() {
+            return targetHash;
+        }
+    }
+}
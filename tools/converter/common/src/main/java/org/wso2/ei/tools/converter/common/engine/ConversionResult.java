@@ -0,0 +1,80 @@
+/*
+ *     Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *     WSO2 Inc. licenses this file to you under the Apache License,
+ *     Version 2.0 (the "License"); you may not use this file except
+ *     in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package org.wso2.ei.tools.converter.common.engine;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link ConversionResult} holds the outcome of converting a single source file.
+ */
+public class ConversionResult {
+
+    /**
+     * Outcome of a conversion.
+     */
+    public enum Status {
+        CONVERTED,
+        // Source file and ballerina source file are unchanged since the last conversion.
+        SKIPPED,
+        // Ballerina source file of a source file which no longer exists is removed.
+        REMOVED,
+        FAILED
+    }
+
+    private final File source;
+    private final File target;
+    private final Status status;
+    private final List<String> warnings;
+    private final Throwable error;
+
+    ConversionResult(File source, File target, Status status, List<String> warnings, Throwable error) {
+        this.source = source;
+        this.target = target;
+        this.status = status;
+        this.warnings = Collections.unmodifiableList(warnings);
+        this.error = error;
+    }
+
+    public File getSource() {
+        return source;
+    }
+
+    public File getTarget() {
+        return target;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    /**
+     * Get the error which failed the conversion.
+     *
+     * @return error, null if the file was converted
+     */
+    public Throwable getError() {
+        return error;
+    }
+}
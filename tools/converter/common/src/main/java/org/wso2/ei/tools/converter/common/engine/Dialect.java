@@ -0,0 +1,85 @@
+/*
+ *     Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *     WSO2 Inc. licenses this file to you under the Apache License,
+ *     Version 2.0 (the "License"); you may not use this file except
+ *     in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package org.wso2.ei.tools.converter.common.engine;
+
+import org.ballerinalang.model.BallerinaFile;
+import org.wso2.ei.tools.converter.common.Utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * {@link Dialect} plugs a source configuration language, such as Mule or Synapse, into the {@link ConversionEngine}.
+ * A dialect reads a source file into its own configuration model and builds the ballerina model from it. Generating
+ * and writing the ballerina source is common to all the dialects and done by the engine.
+ * <p>
+ * Files are converted concurrently, so both steps must be thread safe for different files.
+ *
+ * @param <T> type of the configuration model of the dialect
+ */
+public interface Dialect<T> {
+
+    /**
+     * Get the name of the dialect, used in the log messages.
+     *
+     * @return name of the dialect
+     */
+    String getName();
+
+    /**
+     * Get the version of the dialect. Files converted by a different version are converted again by an incremental
+     * conversion. The default is the hash of the jar or class directory of the dialect, so that any change to the code
+     * of the dialect converts all the files again.
+     *
+     * @return version of the dialect
+     * @throws IOException if the version cannot be determined
+     */
+    default String getVersion() throws IOException {
+        return Utils.getCodeSourceHash(getClass());
+    }
+
+    /**
+     * Check whether a file of the source tree is a configuration file of the dialect.
+     *
+     * @param file file of the source tree
+     * @return whether the file should be converted
+     */
+    boolean accept(File file);
+
+    /**
+     * Read a source file into the configuration model of the dialect.
+     *
+     * @param file     source file
+     * @param warnings warnings of the conversion of the file, such as unsupported elements
+     * @return configuration model
+     * @throws IOException if the file cannot be read or mapped
+     */
+    T read(File file, List<String> warnings) throws IOException;
+
+    /**
+     * Build the ballerina model of a configuration.
+     *
+     * @param config   configuration model read from a source file
+     * @param warnings warnings of the conversion of the file
+     * @return ballerina model
+     * @throws IOException if the ballerina model cannot be built
+     */
+    BallerinaFile buildModel(T config, List<String> warnings) throws IOException;
+}
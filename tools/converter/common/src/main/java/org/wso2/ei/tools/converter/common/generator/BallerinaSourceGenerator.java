@@ -22,18 +22,40 @@ import org.ballerinalang.model.BallerinaFile;
 import org.wso2.ei.tools.converter.common.Utils;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * {@link BallerinaSourceGenerator} generates ballerina source from ballerina model
  */
 public class BallerinaSourceGenerator {
 
+    /**
+     * Generate ballerina source of a ballerina model. Source is streamed to a temporary file next to the target file
+     * while the model is visited, so the generated source is never held in memory as a whole. The temporary file is
+     * moved to the target file once the whole source is written, so a failed generation never leaves a partially
+     * written target file.
+     *
+     * @param ballerinaFile  ballerina model
+     * @param targetFilePath path of the ballerina source file to be written
+     * @throws IOException if writing the target file fails
+     */
     public void generate(BallerinaFile ballerinaFile, String targetFilePath) throws IOException {
-
-        CodeGenVisitor codeGenVisitor = new CodeGenVisitor();
-
-        ballerinaFile.accept(codeGenVisitor);
-        Utils.writeToBalFile(targetFilePath, codeGenVisitor.getBallerinaSourceStr());
+        Path targetFile = Paths.get(targetFilePath).toAbsolutePath();
+        Path tempFile = Utils.getTempSibling(targetFile);
+        try {
+            try (Writer writer = Utils.newBalFileWriter(tempFile.toString())) {
+                ballerinaFile.accept(new CodeGenVisitor(writer));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Utils.moveAtomically(tempFile, targetFile);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
         /*Service targetService = null;
         if (ballerinaFile.getCompilationUnits().length > 0) {
             targetService = (ballerinaFile.getCompilationUnits()[0] instanceof Service) ?
@@ -118,12 +118,27 @@ public class CodeGenVisitor implements NodeVisitor {
 
     private static Logger logger = LoggerFactory.getLogger(CodeGenVisitor.class);
 
-    private StringBuilder balSourceBuilder = new StringBuilder();
+    private final SourceEmitter balSource;
     private int indentDepth = 0;
-    private int previousIndentDepth = 0;
-    private String indentStr = "";
     private BLangProgram balProgram = null;
 
+    /**
+     * Create a visitor which keeps the generated source in memory. Use {@link #getBallerinaSourceStr()} to get it.
+     */
+    public CodeGenVisitor() {
+        this(new StringBuilder());
+    }
+
+    /**
+     * Create a visitor which streams the generated source to a given sink while visiting, so the size of the generated
+     * source does not affect the memory used. The sink is neither flushed nor closed by the visitor.
+     *
+     * @param balSource sink of the generated source, such as a {@link java.io.Writer}
+     */
+    public CodeGenVisitor(Appendable balSource) {
+        this.balSource = new SourceEmitter(balSource);
+    }
+
     @Override
     public void visit(BLangProgram bLangProgram) {
         logger.debug("Visit - BLangProgram");
@@ -133,7 +148,7 @@ public class CodeGenVisitor implements NodeVisitor {
         for (BLangPackage bLangPackage : balProgram.getServicePackages()) {
             //add import packages
             for (ImportPackage importPackage : bLangPackage.getImportPackages()) {
-                appendToBalSource(importPackage.getSymbolName().toString() + Constants.NEWLINE_STR);
+                appendToBalSource(importPackage.getSymbolName().toString()).append(Constants.NEWLINE_STR);
             }
 
             //process struct definitions
@@ -168,8 +183,9 @@ public class CodeGenVisitor implements NodeVisitor {
                 continue;
             }
             //no need to consider indentation due to imports happens at the beginning of the file
-            appendToBalSource(Constants.IMPORT_STR + Constants.SPACE_STR + importPackage.getSymbolName().getName()
-                    + Constants.STMTEND_STR + Constants.NEWLINE_STR);
+            appendToBalSource(Constants.IMPORT_STR).append(Constants.SPACE_STR)
+                    .append(importPackage.getSymbolName().getName()).append(Constants.STMTEND_STR)
+                    .append(Constants.NEWLINE_STR);
         }
 
         CompilationUnit[] compilationUnits = bFile.getCompilationUnits();
@@ -207,8 +223,9 @@ public class CodeGenVisitor implements NodeVisitor {
         /**
          serviceDefinition : 'service' Identifier serviceBody;
          * */
-        appendToBalSource(getIndentationForCurrentLine() + Constants.SERVICE_STR + Constants.SPACE_STR +
-                service.getName() + Constants.SPACE_STR + Constants.STMTBLOCK_START_STR + Constants.NEWLINE_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.SERVICE_STR).append(Constants.SPACE_STR)
+                .append(service.getName()).append(Constants.SPACE_STR).append(Constants.STMTBLOCK_START_STR)
+                .append(Constants.NEWLINE_STR);
         ++indentDepth;
 
         /**
@@ -227,7 +244,7 @@ public class CodeGenVisitor implements NodeVisitor {
         }
 
         //Service visit completed
-        appendToBalSource(Constants.STMTBLOCK_END_STR + Constants.NEWLINE_STR);
+        appendToBalSource(Constants.STMTBLOCK_END_STR).append(Constants.NEWLINE_STR);
         --indentDepth;
 
     }
@@ -254,20 +271,21 @@ public class CodeGenVisitor implements NodeVisitor {
             appendToBalSource(Constants.NEWLINE_STR);
         }
 
-        appendToBalSource(getIndentationForCurrentLine() + Constants.RESOURCE_STR + Constants.SPACE_STR +
-                resource.getIdentifier().getName() + Constants.SPACE_STR + Constants.PARENTHESES_START_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.RESOURCE_STR).append(Constants.SPACE_STR)
+                .append(resource.getIdentifier().getName()).append(Constants.SPACE_STR)
+                .append(Constants.PARENTHESES_START_STR);
 
         ParameterDef[] parameterDefs = resource.getParameterDefs();
         for (int i = 0; i < parameterDefs.length; i++) {
             if (i > 0) {
-                appendToBalSource(Constants.COMMA_STR + Constants.SPACE_STR);
+                appendToBalSource(Constants.COMMA_STR).append(Constants.SPACE_STR);
             }
             parameterDefs[i].accept(this);
         }
 
         //end of parameters
-        appendToBalSource(Constants.PARENTHESES_END_STR + Constants.SPACE_STR + Constants.STMTBLOCK_START_STR
-                + Constants.NEWLINE_STR);
+        appendToBalSource(Constants.PARENTHESES_END_STR).append(Constants.SPACE_STR)
+                .append(Constants.STMTBLOCK_START_STR).append(Constants.NEWLINE_STR);
         //process resource block
         /**
          * callableUnitBody : '{' statement* workerDeclaration* '}';
@@ -292,7 +310,8 @@ public class CodeGenVisitor implements NodeVisitor {
 
         --indentDepth;
         //end of resource statements block
-        appendToBalSource(getIndentationForCurrentLine() + Constants.STMTBLOCK_END_STR + Constants.NEWLINE_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.STMTBLOCK_END_STR)
+                .append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -311,17 +330,17 @@ public class CodeGenVisitor implements NodeVisitor {
          ;
          */
 
-        appendToBalSource(Constants.FUNCTION_STR + Constants.SPACE_STR + function.getName() + Constants.SPACE_STR +
-                Constants.PARENTHESES_START_STR);
+        appendToBalSource(Constants.FUNCTION_STR).append(Constants.SPACE_STR).append(function.getName())
+                .append(Constants.SPACE_STR).append(Constants.PARENTHESES_START_STR);
         //process parameterList
         ParameterDef[] parameterDefs = function.getParameterDefs();
         for (int i = 0; i < parameterDefs.length; i++) {
             if (i > 0) {
-                appendToBalSource(Constants.COMMA_STR + Constants.SPACE_STR);
+                appendToBalSource(Constants.COMMA_STR).append(Constants.SPACE_STR);
             }
             parameterDefs[i].accept(this);
         }
-        appendToBalSource(Constants.PARENTHESES_END_STR + Constants.SPACE_STR);
+        appendToBalSource(Constants.PARENTHESES_END_STR).append(Constants.SPACE_STR);
 
         if (function.getReturnParameters().length > 0) {
             appendToBalSource(Constants.PARENTHESES_START_STR);
@@ -329,18 +348,18 @@ public class CodeGenVisitor implements NodeVisitor {
             ParameterDef[] returnParamDefs = function.getReturnParameters();
             for (int i = 0; i < returnParamDefs.length; i++) {
                 if (i > 0) {
-                    appendToBalSource(Constants.COMMA_STR + Constants.SPACE_STR);
+                    appendToBalSource(Constants.COMMA_STR).append(Constants.SPACE_STR);
                 }
                 returnParamDefs[i].accept(this);
             }
-            appendToBalSource(Constants.PARENTHESES_END_STR + Constants.SPACE_STR);
+            appendToBalSource(Constants.PARENTHESES_END_STR).append(Constants.SPACE_STR);
         }
 
-        appendToBalSource(Constants.STMTBLOCK_START_STR + Constants.NEWLINE_STR);
+        appendToBalSource(Constants.STMTBLOCK_START_STR).append(Constants.NEWLINE_STR);
         ++indentDepth;
         function.getCallableUnitBody().accept(this);
         --indentDepth;
-        appendToBalSource(Constants.STMTBLOCK_END_STR + Constants.NEWLINE_STR);
+        appendToBalSource(Constants.STMTBLOCK_END_STR).append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -356,15 +375,15 @@ public class CodeGenVisitor implements NodeVisitor {
     @Override
     public void visit(Worker worker) {
         logger.debug("Visit - Worker");
-        appendToBalSource(getIndentationForCurrentLine() + Constants.WORKER_STR + Constants.SPACE_STR + worker.getName()
-                + Constants.SPACE_STR +
-                Constants.STMTBLOCK_START_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.WORKER_STR).append(Constants.SPACE_STR)
+                .append(worker.getName()).append(Constants.SPACE_STR).append(Constants.STMTBLOCK_START_STR);
         ++indentDepth;
         appendToBalSource(Constants.NEWLINE_STR);
         BlockStmt blockStmt = worker.getCallableUnitBody();
         blockStmt.accept(this);
         --indentDepth;
-        appendToBalSource(getIndentationForCurrentLine() + Constants.STMTBLOCK_END_STR + Constants.NEWLINE_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.STMTBLOCK_END_STR)
+                .append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -386,7 +405,7 @@ public class CodeGenVisitor implements NodeVisitor {
                 appendToBalSource(Constants.SPACE_STR);
             }
         }
-        appendToBalSource(parameterDef.getTypeName() + Constants.SPACE_STR + parameterDef.getSymbolName());
+        appendToBalSource(parameterDef.getTypeName()).append(Constants.SPACE_STR).append(parameterDef.getSymbolName());
     }
 
     @Override
@@ -404,15 +423,17 @@ public class CodeGenVisitor implements NodeVisitor {
          * fieldDefinition : typeName Identifier ('=' simpleLiteral)? ';';
          */
 
-        appendToBalSource(getIndentationForCurrentLine() + Constants.STRUCT_STR + Constants.SPACE_STR +
-                structDef.getName() + Constants.SPACE_STR + Constants.STMTBLOCK_START_STR + Constants.NEWLINE_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.STRUCT_STR).append(Constants.SPACE_STR)
+                .append(structDef.getName()).append(Constants.SPACE_STR).append(Constants.STMTBLOCK_START_STR)
+                .append(Constants.NEWLINE_STR);
         ++indentDepth;
         //process fieldDefinition
         for (VariableDefStmt variableDefStmt : structDef.getFieldDefStmts()) {
             variableDefStmt.accept(this);
         }
         --indentDepth;
-        appendToBalSource(getIndentationForCurrentLine() + Constants.STMTBLOCK_END_STR + Constants.NEWLINE_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.STMTBLOCK_END_STR)
+                .append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -434,15 +455,14 @@ public class CodeGenVisitor implements NodeVisitor {
          */
 
         VariableDef variableDef = varDefStmt.getVariableDef();
-        String varLHSDefStr = variableDef.getTypeName().toString() + Constants.SPACE_STR + variableDef.getSymbolName();
-
-        appendToBalSource(getIndentationForCurrentLine() + varLHSDefStr);
+        appendToBalSource(getIndentationForCurrentLine()).append(variableDef.getTypeName()).append(Constants.SPACE_STR)
+                .append(variableDef.getSymbolName());
         if (varDefStmt.getRExpr() != null) {
             //have RHS expression eg: string str = <Some connectorInitExpression | actionInvocation | expression>;
-            appendToBalSource(Constants.SPACE_STR + Constants.EQUAL_STR + Constants.SPACE_STR);
+            appendToBalSource(Constants.SPACE_STR).append(Constants.EQUAL_STR).append(Constants.SPACE_STR);
             varDefStmt.getRExpr().accept(this);
         }
-        appendToBalSource(Constants.STMTEND_STR + Constants.NEWLINE_STR);
+        appendToBalSource(Constants.STMTEND_STR).append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -465,10 +485,10 @@ public class CodeGenVisitor implements NodeVisitor {
         for (Expression lhsExpression : lhsExpressions) {
             lhsExpression.accept(this);
         }
-        appendToBalSource(Constants.SPACE_STR + Constants.EQUAL_STR + Constants.SPACE_STR);
+        appendToBalSource(Constants.SPACE_STR).append(Constants.EQUAL_STR).append(Constants.SPACE_STR);
         //handle rhs
         assignStmt.getRExpr().accept(this);
-        appendToBalSource(Constants.STMTEND_STR + Constants.NEWLINE_STR);
+        appendToBalSource(Constants.STMTEND_STR).append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -484,7 +504,8 @@ public class CodeGenVisitor implements NodeVisitor {
     @Override
     public void visit(CommentStmt commentStmt) {
         logger.debug("Visit - CommentStmt");
-        appendToBalSource(getIndentationForCurrentLine() + commentStmt.getComment() + Constants.NEWLINE_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(commentStmt.getComment())
+                .append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -496,41 +517,42 @@ public class CodeGenVisitor implements NodeVisitor {
          * elseIfClause : 'else' 'if' '(' expression ')' '{' statement* '}';
          * elseClause : 'else' '{' statement*'}';
          */
-        appendToBalSource(getIndentationForCurrentLine() + Constants.IF_STR + Constants.SPACE_STR +
-                Constants.PARENTHESES_START_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.IF_STR).append(Constants.SPACE_STR)
+                .append(Constants.PARENTHESES_START_STR);
         //process if clause expression
         ifElseStmt.getCondition().accept(this);
-        appendToBalSource(Constants.PARENTHESES_END_STR + Constants.SPACE_STR + Constants.STMTBLOCK_START_STR +
-                Constants.NEWLINE_STR);
+        appendToBalSource(Constants.PARENTHESES_END_STR).append(Constants.SPACE_STR)
+                .append(Constants.STMTBLOCK_START_STR).append(Constants.NEWLINE_STR);
 
         //process then block
         ++indentDepth;
         ifElseStmt.getThenBody().accept(this);
         --indentDepth;
-        appendToBalSource(getIndentationForCurrentLine() + Constants.STMTBLOCK_END_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.STMTBLOCK_END_STR);
 
         //process else if clauses
         if (ifElseStmt.getElseIfBlocks().length > 0) {
             for (IfElseStmt.ElseIfBlock elseIfBlock : ifElseStmt.getElseIfBlocks()) {
-                appendToBalSource(Constants.SPACE_STR + Constants.ELSE_STR + Constants.SPACE_STR + Constants.IF_STR +
-                        Constants.SPACE_STR + Constants.PARENTHESES_START_STR);
+                appendToBalSource(Constants.SPACE_STR).append(Constants.ELSE_STR).append(Constants.SPACE_STR)
+                        .append(Constants.IF_STR).append(Constants.SPACE_STR).append(Constants.PARENTHESES_START_STR);
                 elseIfBlock.getElseIfCondition().accept(this);
-                appendToBalSource(Constants.PARENTHESES_END_STR + Constants.SPACE_STR + Constants.STMTBLOCK_START_STR +
-                        Constants.NEWLINE_STR);
+                appendToBalSource(Constants.PARENTHESES_END_STR).append(Constants.SPACE_STR)
+                        .append(Constants.STMTBLOCK_START_STR).append(Constants.NEWLINE_STR);
                 ++indentDepth;
                 elseIfBlock.getElseIfBody().accept(this);
                 --indentDepth;
-                appendToBalSource(getIndentationForCurrentLine() + Constants.STMTBLOCK_END_STR);
+                appendToBalSource(getIndentationForCurrentLine()).append(Constants.STMTBLOCK_END_STR);
             }
         }
 
         //process else block
-        appendToBalSource(Constants.SPACE_STR + Constants.ELSE_STR + Constants.SPACE_STR +
-                Constants.STMTBLOCK_START_STR + Constants.NEWLINE_STR);
+        appendToBalSource(Constants.SPACE_STR).append(Constants.ELSE_STR).append(Constants.SPACE_STR)
+                .append(Constants.STMTBLOCK_START_STR).append(Constants.NEWLINE_STR);
         ++indentDepth;
         ifElseStmt.getElseBody().accept(this);
         --indentDepth;
-        appendToBalSource(getIndentationForCurrentLine() + Constants.STMTBLOCK_END_STR + Constants.NEWLINE_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.STMTBLOCK_END_STR)
+                .append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -538,14 +560,14 @@ public class CodeGenVisitor implements NodeVisitor {
         /**
          * replyStatement : 'reply' expression ';';
          */
-        appendToBalSource(getIndentationForCurrentLine() + Constants.REPLY_STR + Constants.SPACE_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.REPLY_STR).append(Constants.SPACE_STR);
 
         Expression replyExpression = replyStmt.getReplyExpr();
         if (replyExpression instanceof VariableRefExpr) {
             appendToBalSource(((VariableRefExpr) replyExpression).getSymbolName().toString());
         }
 
-        appendToBalSource(Constants.STMTEND_STR + Constants.NEWLINE_STR);
+        appendToBalSource(Constants.STMTEND_STR).append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -555,7 +577,7 @@ public class CodeGenVisitor implements NodeVisitor {
          * returnStatement : 'return' expressionList? ';';
          * expressionList:expression (',' expression)*;
          */
-        appendToBalSource(getIndentationForCurrentLine() + Constants.RETURN_STR + Constants.SPACE_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.RETURN_STR).append(Constants.SPACE_STR);
         Expression[] expressions = returnStmt.getExprs();
         for (int i = 0; i < expressions.length; i++) {
             if (i > 0) {
@@ -563,7 +585,7 @@ public class CodeGenVisitor implements NodeVisitor {
             }
             expressions[i].accept(this);
         }
-        appendToBalSource(Constants.STMTEND_STR + Constants.NEWLINE_STR);
+        appendToBalSource(Constants.STMTEND_STR).append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -586,32 +608,33 @@ public class CodeGenVisitor implements NodeVisitor {
          * finallyClause: 'finally' '{' statement* '}';
          */
         //process try block
-        appendToBalSource(getIndentationForCurrentLine() + Constants.TRY_STR + Constants.SPACE_STR +
-                Constants.STMTBLOCK_START_STR + Constants.NEWLINE_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.TRY_STR).append(Constants.SPACE_STR)
+                .append(Constants.STMTBLOCK_START_STR).append(Constants.NEWLINE_STR);
         ++indentDepth;
         tryCatchStmt.getTryBlock().accept(this);
         --indentDepth;
-        appendToBalSource(getIndentationForCurrentLine() + Constants.STMTBLOCK_END_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.STMTBLOCK_END_STR);
         //process catch blocks
         for (TryCatchStmt.CatchBlock catchBlock : tryCatchStmt.getCatchBlocks()) {
-            appendToBalSource(Constants.SPACE_STR + Constants.CATCH_STR + Constants.SPACE_STR +
-                    Constants.PARENTHESES_START_STR);
+            appendToBalSource(Constants.SPACE_STR).append(Constants.CATCH_STR).append(Constants.SPACE_STR)
+                    .append(Constants.PARENTHESES_START_STR);
             catchBlock.getParameterDef().accept(this);
-            appendToBalSource(Constants.PARENTHESES_END_STR + Constants.SPACE_STR + Constants.STMTBLOCK_START_STR +
-                    Constants.NEWLINE_STR);
+            appendToBalSource(Constants.PARENTHESES_END_STR).append(Constants.SPACE_STR)
+                    .append(Constants.STMTBLOCK_START_STR).append(Constants.NEWLINE_STR);
             ++indentDepth;
             catchBlock.getCatchBlockStmt().accept(this);
             --indentDepth;
-            appendToBalSource(getIndentationForCurrentLine() + Constants.STMTBLOCK_END_STR);
+            appendToBalSource(getIndentationForCurrentLine()).append(Constants.STMTBLOCK_END_STR);
         }
         //process finally block
         if (tryCatchStmt.getFinallyBlock() != null) {
-            appendToBalSource(Constants.SPACE_STR + Constants.FINALLY_STR + Constants.SPACE_STR +
-                    Constants.STMTBLOCK_START_STR + Constants.NEWLINE_STR);
+            appendToBalSource(Constants.SPACE_STR).append(Constants.FINALLY_STR).append(Constants.SPACE_STR)
+                    .append(Constants.STMTBLOCK_START_STR).append(Constants.NEWLINE_STR);
             ++indentDepth;
             tryCatchStmt.getFinallyBlock().getFinallyBlockStmt().accept(this);
             --indentDepth;
-            appendToBalSource(getIndentationForCurrentLine() + Constants.STMTBLOCK_END_STR + Constants.NEWLINE_STR);
+            appendToBalSource(getIndentationForCurrentLine()).append(Constants.STMTBLOCK_END_STR)
+                    .append(Constants.NEWLINE_STR);
         }
         appendToBalSource(Constants.NEWLINE_STR);
     }
@@ -629,7 +652,7 @@ public class CodeGenVisitor implements NodeVisitor {
          */
         appendToBalSource(getIndentationForCurrentLine());
         functionInvocationStmt.getFunctionInvocationExpr().accept(this);
-        appendToBalSource(Constants.STMTEND_STR + Constants.NEWLINE_STR);
+        appendToBalSource(Constants.STMTEND_STR).append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -643,7 +666,7 @@ public class CodeGenVisitor implements NodeVisitor {
          */
         appendToBalSource(getIndentationForCurrentLine());
         actionInvocationStmt.getActionInvocationExpr().accept(this);
-        appendToBalSource(Constants.STMTEND_STR + Constants.NEWLINE_STR);
+        appendToBalSource(Constants.STMTEND_STR).append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -656,8 +679,9 @@ public class CodeGenVisitor implements NodeVisitor {
                 appendToBalSource(Constants.COMMA_STR);
             }
         }
-        appendToBalSource(Constants.SPACE_STR + Constants.SEND + Constants.SPACE_STR + workerInvocationStmt.getName());
-        appendToBalSource(Constants.STMTEND_STR + Constants.NEWLINE_STR);
+        appendToBalSource(Constants.SPACE_STR).append(Constants.SEND).append(Constants.SPACE_STR)
+                .append(workerInvocationStmt.getName());
+        appendToBalSource(Constants.STMTEND_STR).append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -670,9 +694,9 @@ public class CodeGenVisitor implements NodeVisitor {
                 appendToBalSource(Constants.COMMA_STR);
             }
         }
-        appendToBalSource(
-                Constants.SPACE_STR + Constants.RECEIVE + Constants.SPACE_STR + workerReplyStmt.getWorkerName());
-        appendToBalSource(Constants.STMTEND_STR + Constants.NEWLINE_STR);
+        appendToBalSource(Constants.SPACE_STR).append(Constants.RECEIVE).append(Constants.SPACE_STR)
+                .append(workerReplyStmt.getWorkerName());
+        appendToBalSource(Constants.STMTEND_STR).append(Constants.NEWLINE_STR);
     }
 
     @Override
@@ -695,33 +719,33 @@ public class CodeGenVisitor implements NodeVisitor {
          * abortedClause : 'aborted' '{' statement* '}';
          * committedClause : 'committed' '{' statement* '}';
          */
-        appendToBalSource(getIndentationForCurrentLine() + Constants.TRANSACTION_STR + Constants.SPACE_STR +
-                Constants.STMTBLOCK_START_STR + Constants.NEWLINE_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.TRANSACTION_STR).append(Constants.SPACE_STR)
+                .append(Constants.STMTBLOCK_START_STR).append(Constants.NEWLINE_STR);
         ++indentDepth;
         //process transaction block
         transactionStmt.getTransactionBlock().accept(this);
         --indentDepth;
-        appendToBalSource(getIndentationForCurrentLine() + Constants.STMTBLOCK_END_STR);
+        appendToBalSource(getIndentationForCurrentLine()).append(Constants.STMTBLOCK_END_STR);
 
         //process transaction handlers
         if (transactionStmt.getCommittedBlock() != null) {
             //committed block exists, process it
-            appendToBalSource(Constants.SPACE_STR + Constants.COMMITTED_STR + Constants.SPACE_STR +
-                    Constants.STMTBLOCK_START_STR + Constants.NEWLINE_STR);
+            appendToBalSource(Constants.SPACE_STR).append(Constants.COMMITTED_STR).append(Constants.SPACE_STR)
+                    .append(Constants.STMTBLOCK_START_STR).append(Constants.NEWLINE_STR);
             ++indentDepth;
             transactionStmt.getCommittedBlock().getCommittedBlockStmt().accept(this);
             --indentDepth;
-            appendToBalSource(getIndentationForCurrentLine() + Constants.STMTBLOCK_END_STR);
+            appendToBalSource(getIndentationForCurrentLine()).append(Constants.STMTBLOCK_END_STR);
         }
 
         if (transactionStmt.getAbortedBlock() != null) {
             //aborted block exists, process it
-            appendToBalSource(Constants.SPACE_STR + Constants.ABORTED_STR + Constants.SPACE_STR +
-                    Constants.STMTBLOCK_START_STR + Constants.NEWLINE_STR);
+            appendToBalSource(Constants.SPACE_STR).append(Constants.ABORTED_STR).append(Constants.SPACE_STR)
+                    .append(Constants.STMTBLOCK_START_STR).append(Constants.NEWLINE_STR);
             ++indentDepth;
             transactionStmt.getAbortedBlock().getAbortedBlockStmt().accept(this);
             --indentDepth;
-            appendToBalSource(getIndentationForCurrentLine() + Constants.STMTBLOCK_END_STR);
+            appendToBalSource(getIndentationForCurrentLine()).append(Constants.STMTBLOCK_END_STR);
         }
         appendToBalSource(Constants.NEWLINE_STR);
 
@@ -742,7 +766,7 @@ public class CodeGenVisitor implements NodeVisitor {
          | ....
          */
         addExpr.getLExpr().accept(this);
-        appendToBalSource(Constants.SPACE_STR + addExpr.getOperator().toString() + Constants.SPACE_STR);
+        appendToBalSource(Constants.SPACE_STR).append(addExpr.getOperator().toString()).append(Constants.SPACE_STR);
         addExpr.getRExpr().accept(this);
     }
 
@@ -754,7 +778,8 @@ public class CodeGenVisitor implements NodeVisitor {
     @Override
     public void visit(BasicLiteral basicLiteral) {
         if (basicLiteral.getBValue() instanceof BString) {
-            appendToBalSource(Constants.QUOTE_STR + basicLiteral.getBValue().stringValue() + Constants.QUOTE_STR);
+            appendToBalSource(Constants.QUOTE_STR).append(basicLiteral.getBValue().stringValue())
+                    .append(Constants.QUOTE_STR);
         } else if (basicLiteral.getBValue() instanceof BInteger) {
             appendToBalSource(basicLiteral.getBValue().stringValue());
         }
@@ -784,15 +809,15 @@ public class CodeGenVisitor implements NodeVisitor {
          |   ..................
          |   nameReference '(' expressionList? ')'           # functionInvocationExpression
          */
-        appendToBalSource((functionInvocationExpr.getPackageName() == null ?
-                "" :
-                functionInvocationExpr.getPackageName() + Constants.COLON_STR) +
-                functionInvocationExpr.getName() + Constants.PARENTHESES_START_STR);
+        if (functionInvocationExpr.getPackageName() != null) {
+            appendToBalSource(functionInvocationExpr.getPackageName()).append(Constants.COLON_STR);
+        }
+        appendToBalSource(functionInvocationExpr.getName()).append(Constants.PARENTHESES_START_STR);
         //process expression list
         Expression[] argExpressions = functionInvocationExpr.getArgExprs();
         for (int i = 0; i < argExpressions.length; i++) {
             if (i > 0) {
-                appendToBalSource(Constants.COMMA_STR + Constants.SPACE_STR);
+                appendToBalSource(Constants.COMMA_STR).append(Constants.SPACE_STR);
             }
             argExpressions[i].accept(this);
         }
@@ -807,14 +832,14 @@ public class CodeGenVisitor implements NodeVisitor {
          * actionInvocation : nameReference '.' Identifier '(' expressionList? ')';
          * nameReference : (Identifier ':')? Identifier;
          */
-        appendToBalSource(actionInvocationExpr.getPackageName() + Constants.COLON_STR +
-                actionInvocationExpr.getConnectorName() + Constants.PERIOD_STR + actionInvocationExpr.getName() +
-                Constants.PARENTHESES_START_STR);
+        appendToBalSource(actionInvocationExpr.getPackageName()).append(Constants.COLON_STR)
+                .append(actionInvocationExpr.getConnectorName()).append(Constants.PERIOD_STR)
+                .append(actionInvocationExpr.getName()).append(Constants.PARENTHESES_START_STR);
         //process expression list
         Expression[] expressions = actionInvocationExpr.getArgExprs();
         for (int i = 0; i < expressions.length; i++) {
             if (i > 0) {
-                appendToBalSource(Constants.COMMA_STR + Constants.SPACE_STR);
+                appendToBalSource(Constants.COMMA_STR).append(Constants.SPACE_STR);
             }
             expressions[i].accept(this);
         }
@@ -871,7 +896,8 @@ public class CodeGenVisitor implements NodeVisitor {
          | ....
          */
         subtractExpression.getLExpr().accept(this);
-        appendToBalSource(Constants.SPACE_STR + subtractExpression.getOperator().toString() + Constants.SPACE_STR);
+        appendToBalSource(Constants.SPACE_STR).append(subtractExpression.getOperator().toString())
+                .append(Constants.SPACE_STR);
         subtractExpression.getRExpr().accept(this);
     }
 
@@ -899,8 +925,8 @@ public class CodeGenVisitor implements NodeVisitor {
          | ....
          */
         if (typeCastExpression.getTypeName() != null) {
-            appendToBalSource(Constants.PARENTHESES_START_STR + typeCastExpression.getTypeName() +
-                    Constants.PARENTHESES_END_STR + Constants.SPACE_STR);
+            appendToBalSource(Constants.PARENTHESES_START_STR).append(typeCastExpression.getTypeName())
+                    .append(Constants.PARENTHESES_END_STR).append(Constants.SPACE_STR);
         }
         typeCastExpression.getRExpr().accept(this);
 
@@ -921,7 +947,7 @@ public class CodeGenVisitor implements NodeVisitor {
          |   variableReference ('.' variableReference)+  # structFieldIdentifier// struct field reference
          ;
          */
-        appendToBalSource(arrayMapAccessExpr.getVarName() + Constants.ARRAY_START_STR);
+        appendToBalSource(arrayMapAccessExpr.getVarName()).append(Constants.ARRAY_START_STR);
         arrayMapAccessExpr.getIndexExprs()[0].accept(this);
         appendToBalSource(Constants.ARRAY_END_STR);
     }
@@ -971,7 +997,7 @@ public class CodeGenVisitor implements NodeVisitor {
     /*@Override
     public void visit(BacktickExpr backtickExpr) {
         logger.debug("Visit - BacktickExpr");
-        appendToBalSource("`" + backtickExpr.getTemplateStr() + "`");
+        appendToBalSource("`").append(backtickExpr.getTemplateStr()).append("`");
     }*/
 
     @Override
@@ -984,7 +1010,7 @@ public class CodeGenVisitor implements NodeVisitor {
         Expression[] expressArgs = arrayInitExpr.getArgExprs();
         for (int i = 0; i < expressArgs.length; i++) {
             if (i > 0) {
-                appendToBalSource(Constants.COMMA_STR + Constants.SPACE_STR);
+                appendToBalSource(Constants.COMMA_STR).append(Constants.SPACE_STR);
             }
             expressArgs[i].accept(this);
         }
@@ -1000,7 +1026,7 @@ public class CodeGenVisitor implements NodeVisitor {
             Expression[] args = refTypeInitExpr.getArgExprs();
             for (int i = 0; i < args.length; i++) {
                 if (i > 0) {
-                    appendToBalSource(Constants.COMMA_STR + Constants.SPACE_STR);
+                    appendToBalSource(Constants.COMMA_STR).append(Constants.SPACE_STR);
                 }
                 args[i].accept(this);
             }
@@ -1015,13 +1041,13 @@ public class CodeGenVisitor implements NodeVisitor {
          * connectorInitExpression : 'create' nameReference '(' expressionList? ')';
          * expressionList : expression (',' expression)*;
          */
-        appendToBalSource(Constants.CREATE_STR).append(Constants.SPACE_STR).
-                append(connectorInitExpr.getTypeName().toString()).append(Constants.PARENTHESES_START_STR);
+        appendToBalSource(Constants.CREATE_STR).append(Constants.SPACE_STR)
+                .append(connectorInitExpr.getTypeName().toString()).append(Constants.PARENTHESES_START_STR);
 
         Expression[] expressArgs = connectorInitExpr.getArgExprs();
         for (int i = 0; i < expressArgs.length; i++) {
             if (i > 0) {
-                appendToBalSource(Constants.COMMA_STR + Constants.SPACE_STR);
+                appendToBalSource(Constants.COMMA_STR).append(Constants.SPACE_STR);
             }
             /*if (expressArgs[i] instanceof BasicLiteral) {
                 BValue arg = ((BasicLiteral) expressArgs[i]).getBValue();
@@ -1040,7 +1066,7 @@ public class CodeGenVisitor implements NodeVisitor {
         Expression[] expressions = structInitExpr.getArgExprs();
         for (int i = 0; i < expressions.length; i++) {
             if (i > 0) {
-                appendToBalSource(Constants.COMMA_STR + Constants.SPACE_STR);
+                appendToBalSource(Constants.COMMA_STR).append(Constants.SPACE_STR);
             }
             expressions[i].accept(this);
         }
@@ -1060,7 +1086,7 @@ public class CodeGenVisitor implements NodeVisitor {
         Expression[] expressions = mapInitExpr.getArgExprs();
         for (int i = 0; i < expressions.length; i++) {
             if (i > 0) {
-                appendToBalSource(Constants.COMMA_STR + Constants.SPACE_STR);
+                appendToBalSource(Constants.COMMA_STR).append(Constants.SPACE_STR);
             }
             expressions[i].accept(this);
         }
@@ -1074,7 +1100,7 @@ public class CodeGenVisitor implements NodeVisitor {
         Expression[] expressions = jsonInitExpr.getArgExprs();
         for (int i = 0; i < expressions.length; i++) {
             if (i > 0) {
-                appendToBalSource(Constants.COMMA_STR + Constants.SPACE_STR);
+                appendToBalSource(Constants.COMMA_STR).append(Constants.SPACE_STR);
             }
             expressions[i].accept(this);
         }
@@ -1150,12 +1176,24 @@ public class CodeGenVisitor implements NodeVisitor {
 
     }
 
+    /**
+     * Get the generated source. Only available if the visitor keeps the generated source in memory.
+     *
+     * @return generated ballerina source
+     */
     public String getBallerinaSourceStr() {
-        return balSourceBuilder.toString();
+        if (!(balSource.getSink() instanceof StringBuilder)) {
+            throw new IllegalStateException("Ballerina source is streamed to a sink and not kept in memory");
+        }
+        return balSource.getSink().toString();
+    }
+
+    private SourceEmitter appendToBalSource(CharSequence str) {
+        return balSource.append(str);
     }
 
-    private StringBuilder appendToBalSource(String str) {
-        return balSourceBuilder.append(str);
+    private SourceEmitter appendToBalSource(Object obj) {
+        return balSource.append(obj);
     }
 
     /*private void appendToBalSourceWithNewLine(String str) {
@@ -1163,15 +1201,6 @@ public class CodeGenVisitor implements NodeVisitor {
     }*/
 
     private String getIndentationForCurrentLine() {
-
-        if (previousIndentDepth != indentDepth) {
-            String indentation = "";
-            for (int i = 0; i < indentDepth; i++) {
-                indentation = indentation.concat(Constants.TAB_STR);
-            }
-            previousIndentDepth = indentDepth;
-            indentStr = indentation;
-        }
-        return indentStr;
+        return SourceEmitter.getIndentation(indentDepth);
     }
 }
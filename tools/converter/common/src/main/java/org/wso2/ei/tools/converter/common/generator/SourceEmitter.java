@@ -0,0 +1,94 @@
+/*
+ *     Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *     WSO2 Inc. licenses this file to you under the Apache License,
+ *     Version 2.0 (the "License"); you may not use this file except
+ *     in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package org.wso2.ei.tools.converter.common.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * {@link SourceEmitter} appends generated ballerina source to a sink. Pieces of a line are appended one after another
+ * instead of being concatenated first, and indentation strings are taken from a table precomputed per depth.
+ */
+class SourceEmitter {
+
+    // Indentation of deeper levels is created when needed, as generated source is rarely nested this deep.
+    private static final int CACHED_INDENT_DEPTHS = 32;
+    private static final String[] INDENTS = new String[CACHED_INDENT_DEPTHS];
+
+    static {
+        StringBuilder indent = new StringBuilder();
+        for (int i = 0; i < CACHED_INDENT_DEPTHS; i++) {
+            INDENTS[i] = indent.toString();
+            indent.append(Constants.TAB_STR);
+        }
+    }
+
+    private final Appendable sink;
+
+    SourceEmitter(Appendable sink) {
+        this.sink = sink;
+    }
+
+    Appendable getSink() {
+        return sink;
+    }
+
+    /**
+     * Get indentation of a given depth.
+     *
+     * @param depth indentation depth
+     * @return indentation string
+     */
+    static String getIndentation(int depth) {
+        if (depth < CACHED_INDENT_DEPTHS) {
+            return INDENTS[depth];
+        }
+        StringBuilder indent = new StringBuilder(INDENTS[CACHED_INDENT_DEPTHS - 1]);
+        for (int i = CACHED_INDENT_DEPTHS - 1; i < depth; i++) {
+            indent.append(Constants.TAB_STR);
+        }
+        return indent.toString();
+    }
+
+    /**
+     * Append a piece of source. Failures of the sink are rethrown as {@link UncheckedIOException}, as visit methods
+     * cannot throw checked exceptions.
+     *
+     * @param source piece of source
+     * @return this emitter, to append the next piece
+     */
+    SourceEmitter append(CharSequence source) {
+        try {
+            sink.append(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error occurred while writing the ballerina source", e);
+        }
+        return this;
+    }
+
+    /**
+     * Append the string value of a model object, such as a type or symbol name.
+     *
+     * @param source model object
+     * @return this emitter, to append the next piece
+     */
+    SourceEmitter append(Object source) {
+        return append(String.valueOf(source));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *     Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *     WSO2 Inc. licenses this file to you under the Apache License,
+ *     Version 2.0 (the "License"); you may not use this file except
+ *     in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package org.wso2.ei.tools.converter.common.jaxb;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+
+/**
+ * {@link JAXBContextRegistry} shares a {@link JAXBContext} per root element class among all the readers. Creating a
+ * context introspects the whole model and is by far the most expensive step of reading a file, while a context is
+ * thread safe and can be reused for any number of files.
+ * <p>
+ * An {@link Unmarshaller} is not thread safe, so unmarshallers are pooled per thread. Files converted on the same
+ * thread of a batch reuse the same unmarshaller. An unmarshaller is kept until its thread ends and is never removed
+ * otherwise. This is intentional: conversions run on a fixed size pool which is shut down at the end of the batch, so
+ * at most one unmarshaller per root element class is held by each pool thread and by the thread starting the batch.
+ */
+public class JAXBContextRegistry {
+
+    private static final Map<Class<?>, JAXBContext> CONTEXTS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<Class<?>, Unmarshaller>> UNMARSHALLERS = ThreadLocal.withInitial(
+            HashMap::new);
+
+    private JAXBContextRegistry() {
+    }
+
+    /**
+     * Get the shared context of a root element class. The context is created on the first request.
+     *
+     * @param type root element class
+     * @return shared context
+     * @throws JAXBException if the context cannot be created
+     */
+    public static JAXBContext getContext(Class<?> type) throws JAXBException {
+        try {
+            // Concurrent readers of a new class wait for a single context to be created.
+            return CONTEXTS.computeIfAbsent(type, JAXBContextRegistry::newContext);
+        } catch (ContextCreationException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Get the unmarshaller of a root element class for the current thread. The returned unmarshaller must not be
+     * shared with other threads or configured, as it is reused by the later reads of the thread.
+     *
+     * @param type root element class
+     * @return unmarshaller of the current thread
+     * @throws JAXBException if the unmarshaller cannot be created
+     */
+    public static Unmarshaller getUnmarshaller(Class<?> type) throws JAXBException {
+        Map<Class<?>, Unmarshaller> unmarshallers = UNMARSHALLERS.get();
+        Unmarshaller unmarshaller = unmarshallers.get(type);
+        if (unmarshaller == null) {
+            unmarshaller = getContext(type).createUnmarshaller();
+            unmarshallers.put(type, unmarshaller);
+        }
+        return unmarshaller;
+    }
+
+    /**
+     * Unmarshal a file into its root element.
+     *
+     * @param file XML file
+     * @param type root element class
+     * @param <T>  type of the root element
+     * @return root element
+     * @throws JAXBException if the file cannot be read or mapped to the root element class
+     */
+    public static <T> T unmarshal(File file, Class<T> type) throws JAXBException {
+        return type.cast(getUnmarshaller(type).unmarshal(file));
+    }
+
+    private static JAXBContext newContext(Class<?> type) {
+        try {
+            return JAXBContext.newInstance(type);
+        } catch (JAXBException e) {
+            throw new ContextCreationException(e);
+        }
+    }
+
+    /**
+     * Carries a {@link JAXBException} out of the mapping function of {@link Map#computeIfAbsent}.
+     */
+    private static class ContextCreationException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ContextCreationException(JAXBException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized JAXBException getCause() {
+            return (JAXBException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ *     Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *     WSO2 Inc. licenses this file to you under the Apache License,
+ *     Version 2.0 (the "License"); you may not use this file except
+ *     in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package org.wso2.ei.tools.converter.common.engine;
+
+import org.ballerinalang.model.BallerinaFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.wso2.ei.tools.converter.common.Utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the handling of the source files of a source tree by {@link ConversionEngine}. The dialect of the tests never
+ * builds a ballerina model, so the files it reads are failed by the dialect.
+ */
+public class ConversionEngineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final TestDialect dialect = new TestDialect();
+    private Path sourceDir;
+    private Path targetDir;
+
+    @Before
+    public void setUp() throws IOException {
+        sourceDir = folder.newFolder("source").toPath();
+        targetDir = folder.getRoot().toPath().resolve("target");
+    }
+
+    @Test
+    public void testSourceFilesOfSameTargetAreNotConverted() throws IOException {
+        write(sourceDir, "foo.xml", "foo");
+        write(sourceDir, "foo.v2.xml", "foo v2");
+        write(sourceDir, "sub/foo.xml", "sub foo");
+        ConversionManifest.Entry previousEntry = new ConversionManifest.Entry("source hash", "version", "foo.bal",
+                "target hash");
+        ConversionManifest previous = ConversionManifest.load(targetDir);
+        previous.put("foo.xml", previousEntry);
+        previous.save();
+
+        List<ConversionResult> results = new ConversionEngine<>(dialect, 2).convert(sourceDir, targetDir);
+
+        assertEquals(3, results.size());
+        assertResult(results.get(0), "foo.v2.xml", ConversionResult.Status.FAILED,
+                "foo.bal is also the ballerina source file of foo.xml, rename one of the files");
+        assertResult(results.get(1), "foo.xml", ConversionResult.Status.FAILED,
+                "foo.bal is also the ballerina source file of foo.v2.xml, rename one of the files");
+        // A file of another directory has its own ballerina source file.
+        assertResult(results.get(2), "sub/foo.xml", ConversionResult.Status.FAILED, "Not converted: sub foo");
+        assertEquals(Collections.singleton("sub foo"), dialect.readConfigs);
+        assertFalse(Files.exists(targetDir.resolve("foo.bal")));
+        // The previous entry is kept, so that the ballerina source file is still removed with the source file.
+        ConversionManifest.Entry entry = ConversionManifest.load(targetDir).getPreviousEntry("foo.xml");
+        assertNotNull(entry);
+        assertEquals(previousEntry.getTarget(), entry.getTarget());
+        assertEquals(previousEntry.getTargetHash(), entry.getTargetHash());
+    }
+
+    @Test
+    public void testUnchangedFilesAreSkipped() throws IOException {
+        write(sourceDir, "foo.xml", "foo");
+        write(targetDir, "foo.bal", "converted foo");
+        ConversionManifest previous = ConversionManifest.load(targetDir);
+        previous.put("foo.xml", new ConversionManifest.Entry(Utils.getFileHash(sourceDir.resolve("foo.xml")),
+                Utils.getCodeSourceHash(ConversionEngine.class) + "/Test/1", "foo.bal",
+                Utils.getFileHash(targetDir.resolve("foo.bal"))));
+        previous.save();
+
+        List<ConversionResult> results = new ConversionEngine<>(dialect, 2).convert(sourceDir, targetDir);
+
+        assertEquals(1, results.size());
+        assertResult(results.get(0), "foo.xml", ConversionResult.Status.SKIPPED, null);
+        assertTrue(dialect.readConfigs.isEmpty());
+        assertNotNull(ConversionManifest.load(targetDir).getPreviousEntry("foo.xml"));
+    }
+
+    @Test
+    public void testStaleTargetsAreRemoved() throws IOException {
+        write(sourceDir, "bar.xml", "bar");
+        write(targetDir, "removed.bal", "converted removed");
+        write(targetDir, "modified.bal", "modified");
+        write(targetDir, "bar.bal", "converted bar");
+        ConversionManifest previous = ConversionManifest.load(targetDir);
+        previous.put("removed.xml", new ConversionManifest.Entry("source hash", "version", "removed.bal",
+                Utils.getFileHash(targetDir.resolve("removed.bal"))));
+        previous.put("modified.xml", new ConversionManifest.Entry("source hash", "version", "modified.bal",
+                "target hash"));
+        previous.put("missing.xml", new ConversionManifest.Entry("source hash", "version", "missing.bal",
+                "target hash"));
+        previous.put("bar.v1.xml", new ConversionManifest.Entry("source hash", "version", "bar.bal",
+                Utils.getFileHash(targetDir.resolve("bar.bal"))));
+        previous.save();
+
+        List<ConversionResult> results = new ConversionEngine<>(dialect, 2).convert(sourceDir, targetDir);
+
+        assertEquals(3, results.size());
+        assertResult(results.get(0), "bar.xml", ConversionResult.Status.FAILED, "Not converted: bar");
+        // A ballerina source file which no longer exists is still reported as removed.
+        assertResult(results.get(1), "missing.xml", ConversionResult.Status.REMOVED, null);
+        assertResult(results.get(2), "removed.xml", ConversionResult.Status.REMOVED, null);
+        assertEquals(targetDir.resolve("removed.bal").toFile(), results.get(2).getTarget());
+        assertFalse(Files.exists(targetDir.resolve("removed.bal")));
+        // A modified ballerina source file, and the ballerina source file of a current source file, are kept.
+        assertTrue(Files.exists(targetDir.resolve("modified.bal")));
+        assertTrue(Files.exists(targetDir.resolve("bar.bal")));
+        assertEquals(Collections.emptyMap(), ConversionManifest.load(targetDir).getPreviousEntries());
+        assertEquals(Arrays.asList(ConversionManifest.MANIFEST_FILE, "bar.bal", "modified.bal"),
+                listFiles(targetDir));
+    }
+
+    private void assertResult(ConversionResult result, String source, ConversionResult.Status status,
+                              String error) {
+        assertEquals(sourceDir.resolve(source).toFile(), result.getSource());
+        assertEquals(status, result.getStatus());
+        assertEquals(error, result.getError() != null ? result.getError().getMessage() : null);
+    }
+
+    private static List<String> listFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static void write(Path directory, String path, String content) throws IOException {
+        Path file = directory.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Dialect of `.xml` files which records the files it reads and fails building the ballerina model.
+     */
+    private static class TestDialect implements Dialect<String> {
+        private final Set<String> readConfigs = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String getName() {
+            return "Test";
+        }
+
+        @Override
+        public String getVersion() {
+            return "1";
+        }
+
+        @Override
+        public boolean accept(File file) {
+            return file.getName().endsWith(".xml");
+        }
+
+        @Override
+        public String read(File file, List<String> warnings) throws IOException {
+            String config = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            readConfigs.add(config);
+            return config;
+        }
+
+        @Override
+        public BallerinaFile buildModel(String config, List<String> warnings) throws IOException {
+            throw new IOException("Not converted: " + config);
+        }
+    }
+}
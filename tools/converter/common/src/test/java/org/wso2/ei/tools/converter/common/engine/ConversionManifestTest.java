@@ -0,0 +1,123 @@
+/*
+ *     Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *     WSO2 Inc. licenses this file to you under the Apache License,
+ *     Version 2.0 (the "License"); you may not use this file except
+ *     in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+
+package org.wso2.ei.tools.converter.common.engine;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests saving and loading of {@link ConversionManifest}.
+ */
+public class ConversionManifestTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLoadWithoutManifest() throws IOException {
+        assertTrue(ConversionManifest.load(folder.getRoot().toPath()).getPreviousEntries().isEmpty());
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        Path targetDir = folder.getRoot().toPath().resolve("target");
+        ConversionManifest manifest = ConversionManifest.load(targetDir);
+        manifest.put("sub dir/b.xml", new ConversionManifest.Entry("b hash", "engine/Test/1", "sub dir/b.bal",
+                "b.bal hash"));
+        manifest.put("a.xml", new ConversionManifest.Entry("a hash", "engine/Test/1", "a.bal", "a.bal hash"));
+        manifest.save();
+
+        assertEquals(Arrays.asList(
+                "# source\tsource hash\tconverter version\ttarget\ttarget hash",
+                "a.xml\ta hash\tengine/Test/1\ta.bal\ta.bal hash",
+                "sub dir/b.xml\tb hash\tengine/Test/1\tsub dir/b.bal\tb.bal hash"), readManifest(targetDir));
+        // The manifest is written through a temporary file, which is not left behind.
+        assertArrayEquals(new String[]{ConversionManifest.MANIFEST_FILE}, targetDir.toFile().list());
+
+        ConversionManifest loaded = ConversionManifest.load(targetDir);
+        assertEquals(2, loaded.getPreviousEntries().size());
+        ConversionManifest.Entry entry = loaded.getPreviousEntry("sub dir/b.xml");
+        assertEquals("b hash", entry.getSourceHash());
+        assertEquals("engine/Test/1", entry.getConverterVersion());
+        assertEquals("sub dir/b.bal", entry.getTarget());
+        assertEquals("b.bal hash", entry.getTargetHash());
+    }
+
+    @Test
+    public void testOnlyCurrentEntriesAreSaved() throws IOException {
+        Path targetDir = folder.getRoot().toPath();
+        ConversionManifest previous = ConversionManifest.load(targetDir);
+        previous.put("a.xml", new ConversionManifest.Entry("a hash", "1", "a.bal", "a.bal hash"));
+        previous.put("b.xml", new ConversionManifest.Entry("b hash", "1", "b.bal", "b.bal hash"));
+        previous.save();
+
+        ConversionManifest manifest = ConversionManifest.load(targetDir);
+        manifest.put("b.xml", manifest.getPreviousEntry("b.xml"));
+        manifest.save();
+
+        ConversionManifest loaded = ConversionManifest.load(targetDir);
+        assertEquals(Collections.singleton("b.xml"), loaded.getPreviousEntries().keySet());
+        assertNull(loaded.getPreviousEntry("a.xml"));
+    }
+
+    @Test
+    public void testMalformedLinesAreIgnored() throws IOException {
+        Path targetDir = folder.getRoot().toPath();
+        Files.write(targetDir.resolve(ConversionManifest.MANIFEST_FILE), Arrays.asList(
+                "# source\tsource hash\tconverter version\ttarget\ttarget hash",
+                "",
+                "a.xml\ta hash\t1\ta.bal",
+                "b.xml\tb hash\t1\tb.bal\tb.bal hash\textra",
+                "c.xml\tc hash\t1\tc.bal\tc.bal hash"), StandardCharsets.UTF_8);
+
+        ConversionManifest manifest = ConversionManifest.load(targetDir);
+
+        assertEquals(Collections.singleton("c.xml"), manifest.getPreviousEntries().keySet());
+        assertEquals("c.bal hash", manifest.getPreviousEntry("c.xml").getTargetHash());
+    }
+
+    @Test
+    public void testGetRelativePath() {
+        Path directory = Paths.get("target");
+
+        assertEquals("a.bal", ConversionManifest.getRelativePath(directory, directory.resolve("a.bal")));
+        assertEquals("sub/dir/a.bal", ConversionManifest.getRelativePath(directory,
+                directory.resolve("sub" + File.separator + "dir").resolve("a.bal")));
+    }
+
+    private static List<String> readManifest(Path targetDir) throws IOException {
+        return Files.readAllLines(targetDir.resolve(ConversionManifest.MANIFEST_FILE), StandardCharsets.UTF_8);
+    }
+}
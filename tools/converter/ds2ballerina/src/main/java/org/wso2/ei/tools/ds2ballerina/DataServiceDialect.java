@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.ei.tools.ds2ballerina;
+
+import org.ballerinalang.model.BallerinaFile;
+import org.wso2.ei.tools.converter.common.engine.Dialect;
+import org.wso2.ei.tools.ds2ballerina.beans.DataService;
+import org.wso2.ei.tools.ds2ballerina.configreader.DataServiceReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * {@link DataServiceDialect} converts data service configuration files.
+ */
+public class DataServiceDialect implements Dialect<DataService> {
+
+    private static final String DBS_EXTENSION = ".dbs";
+
+    @Override
+    public String getName() {
+        return "data service";
+    }
+
+    @Override
+    public boolean accept(File file) {
+        return file.getName().endsWith(DBS_EXTENSION);
+    }
+
+    @Override
+    public DataService read(File file, List<String> warnings) throws IOException {
+        return DataServiceReader.readDataServiceFile(file);
+    }
+
+    @Override
+    public BallerinaFile buildModel(DataService dataService, List<String> warnings) {
+        return DataServiceReader.buildBalModel(dataService);
+    }
+}
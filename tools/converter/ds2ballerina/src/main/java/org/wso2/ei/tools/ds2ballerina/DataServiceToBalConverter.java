@@ -21,6 +21,7 @@ package org.wso2.ei.tools.ds2ballerina;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.ei.tools.converter.common.Utils;
+import org.wso2.ei.tools.converter.common.engine.ConversionEngine;
 import org.wso2.ei.tools.ds2ballerina.beans.DataService;
 import org.wso2.ei.tools.ds2ballerina.configreader.DataServiceReader;
 
@@ -28,9 +29,6 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * This is the main execution point.
@@ -60,14 +58,7 @@ public class DataServiceToBalConverter {
                 destination = path.toString();
                 logger.info("Converted files saved in " + destination);
 
-                List<File> filesInFolder = Files.walk(Paths.get(args[0])).filter(Files::isRegularFile).
-                        map(Path::toFile).collect(Collectors.toList());
-                for (File file : filesInFolder) {
-                    DataService dataService = DataServiceReader.readDataServiceFile(file);
-                    String fileName = file.getName().substring(0, file.getName().indexOf('.')) + ".bal";
-                    DataServiceReader.createBalModel(dataService, destination + File.separator + fileName);
-                    logger.info(fileName + " created successfully.");
-                }
+                new ConversionEngine<>(new DataServiceDialect()).convert(sourcePath, path);
             } else {
                 if (destination == null || destination.isEmpty()) {
                     String fileName = sourcePath.toString();
@@ -29,14 +29,13 @@ import org.ballerinalang.util.repository.PackageRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.ei.tools.converter.common.generator.BallerinaSourceGenerator;
+import org.wso2.ei.tools.converter.common.jaxb.JAXBContextRegistry;
 import org.wso2.ei.tools.ds2ballerina.beans.DataService;
 import org.wso2.ei.tools.ds2ballerina.util.Util;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
 /**
  * {@code DataServiceReader} class reads data service configuration file.
@@ -47,15 +46,21 @@ public class DataServiceReader {
 
     public static DataService readDataServiceFile(File dsFile) throws IOException {
         try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(DataService.class);
-            Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
-            return (DataService) jaxbUnmarshaller.unmarshal(dsFile);
+            return JAXBContextRegistry.unmarshal(dsFile, DataService.class);
         } catch (JAXBException e) {
             throw new IOException("Error occurred while mapping the DataService", e);
         }
     }
 
     public static void createBalModel(DataService dataservice, String outputFile) throws IOException {
+        BallerinaFile bFile = buildBalModel(dataservice);
+        BallerinaSourceGenerator sourceGenerator = new BallerinaSourceGenerator();
+//        sourceGenerator.generate(bFile, "/home/madhawa/DSS-BAM/madhawa-dss1.bal");
+        sourceGenerator.generate(bFile, outputFile);
+        System.out.print("Done building AST!");
+    }
+
+    public static BallerinaFile buildBalModel(DataService dataservice) {
         PackageRepository packageRepository = new PackageRepository() {
             @Override public PackageSource loadPackage(Path path) {
                 return null;
@@ -123,11 +128,7 @@ public class DataServiceReader {
         Util.createResources(modelBuilder, dataservice);
 
         modelBuilder.createService(null, dataservice.getName());
-        BallerinaFile bFile = modelBuilder.build();
-        BallerinaSourceGenerator sourceGenerator = new BallerinaSourceGenerator();
-//        sourceGenerator.generate(bFile, "/home/madhawa/DSS-BAM/madhawa-dss1.bal");
-        sourceGenerator.generate(bFile, outputFile);
-        System.out.print("Done building AST!");
+        return modelBuilder.build();
     }
 
 }
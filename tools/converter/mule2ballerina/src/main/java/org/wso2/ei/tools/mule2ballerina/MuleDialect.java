@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.ei.tools.mule2ballerina;
+
+import org.ballerinalang.model.BallerinaFile;
+import org.wso2.ei.tools.converter.common.engine.Dialect;
+import org.wso2.ei.tools.mule2ballerina.configreader.ConfigReader;
+import org.wso2.ei.tools.mule2ballerina.model.Root;
+import org.wso2.ei.tools.mule2ballerina.visitor.TreeVisitor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * {@link MuleDialect} converts Mule configuration files. Elements which are not supported by the converter yet are
+ * reported as warnings.
+ */
+public class MuleDialect implements Dialect<ConfigReader> {
+
+    private static final String XML_EXTENSION = ".xml";
+
+    @Override
+    public String getName() {
+        return "Mule";
+    }
+
+    @Override
+    public boolean accept(File file) {
+        return file.getName().endsWith(XML_EXTENSION);
+    }
+
+    @Override
+    public ConfigReader read(File file, List<String> warnings) throws IOException {
+        ConfigReader xmlParser = new ConfigReader();
+        try (InputStream inputStream = xmlParser.getInputStream(file)) {
+            if (inputStream == null) {
+                throw new IOException("Unable to read the Mule configuration file: " + file.getPath());
+            }
+            xmlParser.readXML(inputStream);
+        }
+        if (xmlParser.getUnIdentifiedElements() != null) {
+            warnings.addAll(xmlParser.getUnIdentifiedElements());
+        }
+        return xmlParser;
+    }
+
+    @Override
+    public BallerinaFile buildModel(ConfigReader xmlParser, List<String> warnings) {
+        Root muleRootObj = xmlParser.getRootObj();
+        TreeVisitor treeVisitor = new TreeVisitor(muleRootObj);
+        treeVisitor.visit(muleRootObj);
+        return treeVisitor.getBallerinaFile();
+    }
+}
@@ -18,23 +18,16 @@
 
 package org.wso2.ei.tools.mule2ballerina;
 
-import org.ballerinalang.model.BallerinaFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.ei.tools.converter.common.Utils;
-import org.wso2.ei.tools.converter.common.generator.BallerinaSourceGenerator;
+import org.wso2.ei.tools.converter.common.engine.ConversionEngine;
 import org.wso2.ei.tools.mule2ballerina.configreader.ConfigReader;
-import org.wso2.ei.tools.mule2ballerina.model.Root;
-import org.wso2.ei.tools.mule2ballerina.visitor.TreeVisitor;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * This is the main execution point
@@ -54,6 +47,7 @@ public class MuleToBalConvertExecutor {
         logger.info("Source file(s) in location: " + sourcePath.toString());
 
         String destination = args[1];
+        ConversionEngine<ConfigReader> engine = new ConversionEngine<>(new MuleDialect());
         try {
             if (Files.isDirectory(sourcePath)) {
                 Path path = Utils.getPath(source, destination);
@@ -63,48 +57,16 @@ public class MuleToBalConvertExecutor {
                 destination = path.toString();
                 logger.info("Converted files saved in " + destination);
 
-                List<File> filesInFolder = Files.walk(Paths.get(args[0])).filter(Files::isRegularFile).
-                        map(Path::toFile).collect(Collectors.toList());
-                for (File file : filesInFolder) {
-                    ConfigReader xmlParser = new ConfigReader();
-                    try (InputStream inputStream = xmlParser.getInputStream(file)) {
-                        String fileName = file.getName().substring(0, file.getName().indexOf('.')) + ".bal";
-                        createBalFile(xmlParser, inputStream, destination + File.separator + fileName);
-                        logger.info(fileName + " created successfully.");
-                    }
-                }
+                engine.convert(sourcePath, path);
             } else {
                 if (destination == null || destination.isEmpty()) {
-                    String fileName = source.getName();
-                    destination = fileName.substring(0, fileName.indexOf('.')) + ".bal";
+                    destination = ConversionEngine.getBalFileName(source.getName());
                 }
                 logger.info("Generated ballerina file saved as " + destination);
-                ConfigReader xmlParser = new ConfigReader();
-                try (InputStream inputStream = xmlParser.getInputStream(source)) {
-                    createBalFile(xmlParser, inputStream, destination);
-                }
+                engine.convertFile(source, new File(destination));
             }
         } catch (IOException e) {
             logger.error("Unable to generate ballerina file.", e);
         }
     }
-
-    private static void createBalFile(ConfigReader xmlParser, InputStream inputStream, String destination)
-            throws IOException {
-        xmlParser.readXML(inputStream);
-        Root muleRootObj = xmlParser.getRootObj();
-        if (xmlParser.getUnIdentifiedElements() != null && !xmlParser.getUnIdentifiedElements().isEmpty()) {
-            logger.warn("Following Elements are not supported by the converter yet!");
-            logger.warn("-----------------------------------------------------------");
-            xmlParser.getUnIdentifiedElements().forEach(element -> logger.warn(element));
-            logger.warn("-----------------------------------------------------------");
-        }
-        TreeVisitor treeVisitor = new TreeVisitor(muleRootObj);
-        treeVisitor.visit(muleRootObj);
-        BallerinaFile ballerinaFile = treeVisitor.getBallerinaFile();
-
-        BallerinaSourceGenerator sourceGenerator = new BallerinaSourceGenerator();
-        sourceGenerator.generate(ballerinaFile, destination);
-
-    }
 }
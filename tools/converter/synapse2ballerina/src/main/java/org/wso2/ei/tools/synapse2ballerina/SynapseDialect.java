@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.ei.tools.synapse2ballerina;
+
+import org.ballerinalang.model.BallerinaFile;
+import org.wso2.ei.tools.converter.common.engine.Dialect;
+import org.wso2.ei.tools.converter.common.jaxb.JAXBContextRegistry;
+import org.wso2.ei.tools.synapse2ballerina.builder.ASTBuilder;
+import org.wso2.ei.tools.synapse2ballerina.model.API;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import javax.xml.bind.JAXBException;
+
+/**
+ * {@link SynapseDialect} converts Synapse API configuration files.
+ */
+public class SynapseDialect implements Dialect<API> {
+
+    private static final String XML_EXTENSION = ".xml";
+
+    @Override
+    public String getName() {
+        return "Synapse";
+    }
+
+    @Override
+    public boolean accept(File file) {
+        return file.getName().endsWith(XML_EXTENSION);
+    }
+
+    @Override
+    public API read(File file, List<String> warnings) throws IOException {
+        try {
+            //todo change the root element to 'definitions'
+            return JAXBContextRegistry.unmarshal(file, API.class);
+        } catch (JAXBException e) {
+            throw new IOException("Error occurred while mapping the API", e);
+        }
+    }
+
+    @Override
+    public BallerinaFile buildModel(API api, List<String> warnings) {
+        return ASTBuilder.build(api);
+    }
+}
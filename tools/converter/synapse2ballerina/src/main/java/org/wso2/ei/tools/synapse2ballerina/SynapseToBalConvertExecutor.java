@@ -18,14 +18,13 @@
 
 package org.wso2.ei.tools.synapse2ballerina;
 
-import org.ballerinalang.model.BallerinaFile;
-import org.wso2.ei.tools.converter.common.generator.BallerinaSourceGenerator;
-import org.wso2.ei.tools.synapse2ballerina.builder.ASTBuilder;
+import org.wso2.ei.tools.converter.common.Utils;
+import org.wso2.ei.tools.converter.common.engine.ConversionEngine;
 import org.wso2.ei.tools.synapse2ballerina.model.API;
 
 import java.io.File;
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.Unmarshaller;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Main class to start the converter
@@ -33,20 +32,16 @@ import javax.xml.bind.Unmarshaller;
 public class SynapseToBalConvertExecutor {
     public static void main(String[] args) throws Exception {
 
-        String synapseInConfig = args[0];
-
-        JAXBContext jaxbContext = JAXBContext.newInstance(API.class);
-
-        Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
-        //todo change the root element to 'definitions'
-        API api = (API) jaxbUnmarshaller.unmarshal(new File(synapseInConfig));
-
-        BallerinaFile ballerinaFile = ASTBuilder.build(api);
-
-        BallerinaSourceGenerator sourceGenerator = new BallerinaSourceGenerator();
-        String balOutFile = args[1];
-        sourceGenerator.generate(ballerinaFile, balOutFile);
+        File synapseInConfig = new File(args[0]);
+        ConversionEngine<API> engine = new ConversionEngine<>(new SynapseDialect());
 
+        if (synapseInConfig.isDirectory()) {
+            Path path = Utils.getPath(synapseInConfig, args.length > 1 ? args[1] : null);
+            engine.convert(synapseInConfig.toPath().toAbsolutePath(), Files.createDirectories(path));
+        } else {
+            String balOutFile = args[1];
+            engine.convertFile(synapseInConfig, new File(balOutFile));
+        }
     }
 
 
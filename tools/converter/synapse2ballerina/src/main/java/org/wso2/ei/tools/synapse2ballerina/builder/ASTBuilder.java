@@ -43,9 +43,21 @@ public class ASTBuilder {
     private static BallerinaASTModelBuilder ballerinaASTModelBuilder = new BallerinaASTModelBuilder();
     private static int serviceAnnotationCount = 0;
 
-    public static BallerinaFile build(API api) {
+    /**
+     * Build the ballerina model of an API. The model being built is kept in static fields, so models are built one at a
+     * time even when APIs are converted concurrently.
+     *
+     * @param api API to be converted
+     * @return ballerina model
+     */
+    public static synchronized BallerinaFile build(API api) {
         serviceName = api.getName();
         ballerinaASTModelBuilder = new BallerinaASTModelBuilder();
+        // State of the previously built model is cleared, as more than one API is converted in a batch.
+        resourceParamNameCount = 0;
+        parameters = new HashMap<>();
+        importKeys = new HashSet<>();
+        serviceAnnotationCount = 0;
 
         ballerinaASTModelBuilder.startService();
 
@@ -97,7 +109,7 @@ public class ASTBuilder {
         }
     }
 
-    public static void addImport(String packageName) {
+    public static synchronized void addImport(String packageName) {
         if (importKeys.add(packageName)) {
             ballerinaASTModelBuilder
                     .addImportPackage(ballerinaASTModelBuilder.getBallerinaPackageMap().get(packageName), null);